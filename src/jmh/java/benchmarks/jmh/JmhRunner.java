@@ -0,0 +1,42 @@
+package benchmarks.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Runs the JMH benchmarks and writes the results as JSON, so runs on different branches
+ * can be compared (e.g. with jmh.morethan.io or a diff of the score fields).
+ *
+ * Usage:
+ *   mvn -Pjmh test-compile exec:exec@jmh [-Djmh.include=regex] [-Djmh.result=file] \
+ *       [-Djmh.jvmArgs="-Djanitri.target=prod ..."]
+ * The runner is a JVM of its own, so Maven's own -D options do not reach it; jmh.jvmArgs
+ * does. JMH starts the forked JVMs with the runner's own JVM options, so they get them too.
+ */
+public final class JmhRunner {
+
+    private JmhRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = args.length > 0 ? args[0] : "benchmarks.jmh.*";
+        Path result = Paths.get(args.length > 1 ? args[1] : "target/jmh-result.json").toAbsolutePath();
+        Files.createDirectories(result.getParent());
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString());
+
+        new Runner(options.build()).run();
+        System.out.println("JMH results written to " + result);
+    }
+}
@@ -0,0 +1,196 @@
+package benchmarks.jmh;
+
+import com.janitri.driver.ChromeSessionFactory;
+import com.janitri.pages.LoginPage;
+import com.janitri.pages.PageState;
+import com.janitri.pages.PageStateProbe;
+import com.janitri.server.LoginStubServer;
+import com.janitri.waits.WaitBudget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the {@link LoginPage} operations tests spend their time in.
+ *
+ * Runs against the embedded {@link LoginStubServer} in the lean (headless) profile unless
+ * {@code janitri.target} / {@code janitri.profile} are set explicitly. One Chrome session is
+ * started per fork; each benchmark gets the page into the state it needs in its setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginPageBenchmark {
+
+    private static final String EMAIL = "test@janitri.com";
+    private static final String WRONG_PASSWORD = "wrongpassword";
+
+    /**
+     * Chrome session on the local login page, shared by the states below.
+     */
+    @State(Scope.Benchmark)
+    public static class Session {
+        WebDriver driver;
+
+        @Setup(Level.Trial)
+        public void start() {
+            defaultProperty("janitri.target", "local");
+            defaultProperty("janitri.profile", "lean");
+            LoginStubServer.startIfConfigured();
+            driver = ChromeSessionFactory.createSession();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            if (driver != null) {
+                driver.quit();
+            }
+            LoginStubServer.stopShared();
+        }
+
+        LoginPage freshPage() {
+            // Each iteration gets a full wait budget, like each test method does
+            WaitBudget.begin("LoginPageBenchmark");
+            ChromeSessionFactory.resetSession(driver);
+            LoginPage page = new LoginPage(driver);
+            page.waitForPageLoad();
+            return page;
+        }
+
+        private static void defaultProperty(String key, String value) {
+            if (System.getProperty(key) == null) {
+                System.setProperty(key, value);
+            }
+        }
+    }
+
+    /**
+     * Clean login form, no messages shown, reused for a whole iteration. Only for benchmarks
+     * that leave the form as they found it.
+     */
+    @State(Scope.Benchmark)
+    public static class CleanForm {
+        LoginPage page;
+
+        @Setup(Level.Iteration)
+        public void load(Session session) {
+            page = session.freshPage();
+        }
+    }
+
+    /**
+     * Clean login form for every single call, for benchmarks that submit it. Submitting
+     * changes the form (messages, a login request in flight), so reusing it would measure the
+     * next call against a different page. Setup is not part of the measured time.
+     */
+    @State(Scope.Benchmark)
+    public static class CleanFormPerCall {
+        LoginPage page;
+
+        @Setup(Level.Invocation)
+        public void load(Session session) {
+            page = session.freshPage();
+        }
+    }
+
+    /**
+     * Login form showing the invalid-credentials message.
+     */
+    @State(Scope.Benchmark)
+    public static class AuthErrorShown {
+        LoginPage page;
+
+        @Setup(Level.Iteration)
+        public void load(Session session) {
+            page = session.freshPage();
+            page.loginWithInvalidPassword(EMAIL, WRONG_PASSWORD);
+            // The page's own wait: login response, then the message selectors
+            String message = page.getErrorMessage();
+            PageStateProbe.Snapshot snapshot = new PageStateProbe(session.driver).snapshot();
+            if (snapshot.getState() != PageState.AUTH_ERROR) {
+                throw new IllegalStateException("Invalid-credentials message never appeared: " + message
+                        + " (page " + snapshot + ")");
+            }
+        }
+    }
+
+    @Benchmark
+    public LoginPage construct(Session session) {
+        // Field wiring plus resolver, waits and probe; PageWiringBenchmark isolates the wiring
+        return new LoginPage(session.driver);
+    }
+
+    @Benchmark
+    public void enterUserId(CleanForm form) {
+        form.page.enterUserId(EMAIL);
+    }
+
+    @Benchmark
+    public void enterPassword(CleanForm form) {
+        form.page.enterPassword("testpassword123");
+    }
+
+    @Benchmark
+    public void clickLogin(CleanFormPerCall form) {
+        // Empty fields: client-side validation only, the page never navigates away
+        form.page.clickLogin();
+    }
+
+    // The three ways to submit the same rejected login: field by field, and both batched modes
+
+    @Benchmark
+    public void loginFieldByField(CleanFormPerCall form) {
+        form.page.enterUserId(EMAIL);
+        form.page.enterPassword(WRONG_PASSWORD);
+        form.page.clickLogin();
+    }
+
+    @Benchmark
+    public void fillAndSubmitScript(CleanFormPerCall form) {
+        form.page.fillAndSubmit(EMAIL, WRONG_PASSWORD, LoginPage.InputMode.SCRIPT);
+    }
+
+    @Benchmark
+    public void fillAndSubmitNativeKeys(CleanFormPerCall form) {
+        form.page.fillAndSubmit(EMAIL, WRONG_PASSWORD, LoginPage.InputMode.NATIVE_KEYS);
+    }
+
+    @Benchmark
+    public void getErrorMessageHit(AuthErrorShown shown, Blackhole blackhole) {
+        blackhole.consume(shown.page.getErrorMessage());
+    }
+
+    // The miss path waits out the full resolver timeout, so time single invocations
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public void getErrorMessageMiss(CleanForm form, Blackhole blackhole) {
+        blackhole.consume(form.page.getErrorMessage());
+    }
+
+    @Benchmark
+    public boolean isEyeIconPresent(CleanForm form) {
+        return form.page.isEyeIconPresent();
+    }
+
+    @Benchmark
+    public void waitForPageLoad(CleanForm form) {
+        form.page.waitForPageLoad();
+    }
+}
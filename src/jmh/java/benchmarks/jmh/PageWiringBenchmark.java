@@ -0,0 +1,75 @@
+package benchmarks.jmh;
+
+import com.janitri.pages.LoginPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of wiring a {@link LoginPage}: the compile-time generated binder against
+ * {@code PageFactory.initElements}.
+ *
+ * Runs without a browser - the driver is an in-memory stub whose every lookup returns the
+ * same element - so only the Java side of page construction and field access is measured.
+ * {@code construct} is what every test pays up front; {@code constructAndReadFields} adds
+ * the first (resolving) and a second (cached) read of both input fields.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageWiringBenchmark {
+
+    @Param({"generated", "pageFactory"})
+    public String wiring;
+
+    private WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("janitri.pages.generatedBinder", String.valueOf("generated".equals(wiring)));
+        WebElement element = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> null);
+        List<WebElement> found = List.of(element);
+        driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebDriver.class},
+                (proxy, method, args) -> "findElements".equals(method.getName()) ? found : null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.clearProperty("janitri.pages.generatedBinder");
+    }
+
+    @Benchmark
+    public LoginPage construct() {
+        return new LoginPage(driver);
+    }
+
+    @Benchmark
+    public void constructAndReadFields(Blackhole blackhole) {
+        LoginPage page = new LoginPage(driver);
+        blackhole.consume(page.getEmailFieldValue());
+        blackhole.consume(page.getPasswordFieldValue());
+        blackhole.consume(page.getEmailFieldValue());
+        blackhole.consume(page.getPasswordFieldValue());
+    }
+}
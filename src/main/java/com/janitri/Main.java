@@ -1,26 +1,73 @@
 package com.janitri;
 
 import com.janitri.base.BaseTest;
+import com.janitri.load.LoadProbe;
 import com.janitri.pages.LoginPage;
 import org.openqa.selenium.WebDriver;
 
+import java.util.Arrays;
+
 /**
  * Main class to demonstrate the Janitri Login Automation Framework
  * This class shows how to use the Page Object Model and test the login functionality
+ *
+ * With {@code --load-probe} it instead runs {@link LoadProbe}: concurrent sessions looping
+ * the login flow, configured through the {@code janitri.load.*} properties.
  */
 public class Main extends BaseTest {
 
     public static void main(String[] args) {
         Main main = new Main();
+        startLocalTarget();
+        if (Arrays.asList(args).contains("--load-probe")) {
+            main.runLoadProbe();
+            return;
+        }
+        try {
+            main.setUp();
+        } catch (RuntimeException e) {
+            // The embedded server and shared chromedriver would otherwise keep the JVM alive
+            shutdownDriverPool();
+            stopLocalTarget();
+            throw e;
+        }
         main.runDemo();
     }
 
+    public void runLoadProbe() {
+        LoadProbe probe = LoadProbe.fromConfig();
+        expectConcurrentSessions(probe.getSessions());
+        try {
+            probe.run(new LoadProbe.SessionHooks() {
+                @Override
+                public void open() {
+                    setUp();
+                }
+
+                @Override
+                public WebDriver driver() {
+                    return getDriver();
+                }
+
+                @Override
+                public void close() {
+                    tearDown();
+                }
+            });
+            System.out.println(probe.summary());
+        } finally {
+            shutdownDriverPool();
+            stopLocalTarget();
+            reportCommandLatency();
+        }
+    }
+
     public void runDemo() {
         try {
             System.out.println("=== Janitri Login Automation Demo ===");
             
             // Initialize the page object
-            LoginPage loginPage = new LoginPage(driver);
+            LoginPage loginPage = new LoginPage(getDriver());
             loginPage.waitForPageLoad();
             
             System.out.println("Page loaded successfully");
@@ -68,10 +115,11 @@ public class Main extends BaseTest {
             e.printStackTrace();
         } finally {
             // Clean up
-            if (driver != null) {
-                driver.quit();
-                System.out.println("Browser closed");
-            }
+            tearDown();
+            shutdownDriverPool();
+            stopLocalTarget();
+            reportCommandLatency();
+            System.out.println("Browser closed");
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,212 @@
+package com.janitri.artifacts;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes {@link FailureSnapshot}s to disk on one background thread.
+ *
+ * The queue is bounded: when the writer falls behind, {@link #submit} blocks the test thread
+ * for up to {@code offerTimeout} (back-pressure) and drops the snapshot after that, so a
+ * burst of failures cannot grow memory without limit. Each snapshot gets its own directory
+ * under {@code runDir} with {@code screenshot.png}, {@code dom.html.gz}, {@code console.log}
+ * and {@code failure.json}; {@code index.json} lists every test with artifacts.
+ */
+public class ArtifactWriter {
+
+    private static final Json JSON = new Json();
+    // Wakes the writer up to finish once the queue is empty
+    private static final FailureSnapshot END = new FailureSnapshot("<end>", null);
+
+    private final Path runDir;
+    private final Duration offerTimeout;
+    private final BlockingQueue<FailureSnapshot> queue;
+    private final Thread writer;
+    private final List<Map<String, Object>> index = new ArrayList<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private volatile boolean accepting = true;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+    private final AtomicLong blockedNanos = new AtomicLong();
+    private final AtomicLong writeNanos = new AtomicLong();
+
+    public ArtifactWriter(Path runDir, int capacity, Duration offerTimeout) {
+        this.runDir = runDir;
+        this.offerTimeout = offerTimeout;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.writer = new Thread(this::writeLoop, "failure-artifact-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a snapshot, blocking while the queue is full. Returns false if it was dropped.
+     */
+    public boolean submit(FailureSnapshot snapshot) {
+        if (!accepting) {
+            dropped.increment();
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            if (queue.offer(snapshot, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            System.out.println("Failure artifact queue full, dropping artifacts of " + snapshot.getTestName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            blockedNanos.addAndGet(System.nanoTime() - start);
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * Stops accepting snapshots and waits until everything queued is on disk.
+     * Returns false if the writer did not finish within the timeout.
+     */
+    public boolean drain(Duration timeout) {
+        accepting = false;
+        try {
+            if (!queue.offer(END, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+            writer.join(timeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !writer.isAlive();
+    }
+
+    private void writeLoop() {
+        try {
+            FailureSnapshot snapshot;
+            while ((snapshot = queue.take()) != END) {
+                long start = System.nanoTime();
+                try {
+                    write(snapshot);
+                    written.increment();
+                } catch (IOException | RuntimeException e) {
+                    failedWrites.increment();
+                    System.out.println("Could not write failure artifacts of " + snapshot.getTestName() + ": " + e.getMessage());
+                } finally {
+                    writeNanos.addAndGet(System.nanoTime() - start);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writeIndex();
+        }
+    }
+
+    private void write(FailureSnapshot snapshot) throws IOException {
+        String dirName = String.format("%03d-%s", sequence.incrementAndGet(), safeName(snapshot.getTestName()));
+        Path dir = Files.createDirectories(runDir.resolve(dirName));
+        List<String> files = new ArrayList<>();
+
+        if (snapshot.getScreenshotBase64() != null) {
+            Files.write(dir.resolve("screenshot.png"), Base64.getMimeDecoder().decode(snapshot.getScreenshotBase64()));
+            files.add("screenshot.png");
+        }
+        if (snapshot.getDom() != null) {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(dir.resolve("dom.html.gz")))) {
+                out.write(snapshot.getDom().getBytes(StandardCharsets.UTF_8));
+            }
+            files.add("dom.html.gz");
+        }
+        if (!snapshot.getConsole().isEmpty()) {
+            Files.write(dir.resolve("console.log"), snapshot.getConsole(), StandardCharsets.UTF_8);
+            files.add("console.log");
+        }
+
+        Map<String, Object> failure = new LinkedHashMap<>();
+        failure.put("test", snapshot.getTestName());
+        failure.put("capturedAt", snapshot.getCapturedAtMillis());
+        failure.put("captureMs", snapshot.getCaptureMillis());
+        failure.put("url", snapshot.getUrl());
+        failure.put("title", snapshot.getTitle());
+        failure.put("pageState", snapshot.getPageState());
+        failure.put("error", snapshot.getError());
+        failure.put("captureErrors", snapshot.getCaptureErrors());
+        Files.write(dir.resolve("failure.json"), JSON.toJson(failure).getBytes(StandardCharsets.UTF_8));
+        files.add("failure.json");
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("test", snapshot.getTestName());
+        entry.put("dir", dirName);
+        entry.put("files", files);
+        String error = snapshot.getError();
+        entry.put("error", error == null ? null : error.split("\\R", 2)[0]);
+        synchronized (index) {
+            index.add(entry);
+        }
+    }
+
+    private void writeIndex() {
+        synchronized (index) {
+            if (index.isEmpty()) {
+                return;
+            }
+            try {
+                Files.createDirectories(runDir);
+                Files.write(runDir.resolve("index.json"), JSON.toJson(index).getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                System.out.println("Could not write failure artifact index: " + e.getMessage());
+            }
+        }
+    }
+
+    // "SpreadsheetLoginTests.testLoginCase[TC002 Login with invalid email]" -> file-system safe
+    static String safeName(String testName) {
+        String name = testName.replaceAll("[^A-Za-z0-9._-]+", "_");
+        return name.length() > 120 ? name.substring(0, 120) : name;
+    }
+
+    public Path getRunDir() {
+        return runDir;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public double getBlockedMillis() {
+        return blockedNanos.get() / 1_000_000.0;
+    }
+
+    public String summary() {
+        return String.format("FailureArtifacts[written=%d, dropped=%d, failedWrites=%d, blocked=%.1fms, write=%.1fms, dir=%s]",
+                getWritten(), getDropped(), failedWrites.sum(), getBlockedMillis(),
+                writeNanos.get() / 1_000_000.0, runDir);
+    }
+}
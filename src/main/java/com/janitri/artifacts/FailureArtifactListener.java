@@ -0,0 +1,69 @@
+package com.janitri.artifacts;
+
+import com.janitri.base.BaseTest;
+import com.janitri.base.TestConfig;
+import com.janitri.driver.DriverRegistry;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Captures screenshot, DOM, page state and browser console of every failed test.
+ *
+ * Runs right after the test method, before {@code @AfterMethod} hands the session back to
+ * the pool, and only does the browser round trips on the test thread; files are written
+ * by an {@link ArtifactWriter}. The suite does not finish until the writer has drained.
+ * Registered in testng.xml; {@code -Djanitri.artifacts.enabled=false} turns it off.
+ */
+public class FailureArtifactListener implements IInvokedMethodListener, ISuiteListener {
+
+    private volatile ArtifactWriter writer;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!TestConfig.getBoolean("janitri.artifacts.enabled", true)) {
+            return;
+        }
+        String run = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        writer = new ArtifactWriter(
+                Paths.get(TestConfig.get("janitri.artifacts.dir", "target/failure-artifacts"), run),
+                TestConfig.getInt("janitri.artifacts.queueCapacity", 8),
+                Duration.ofSeconds(TestConfig.getLong("janitri.artifacts.offerTimeoutSeconds", 30)));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        ArtifactWriter current = writer;
+        if (current == null || !method.isTestMethod() || testResult.getStatus() != ITestResult.FAILURE
+                || !DriverRegistry.isBound()) {
+            return;
+        }
+        String testName = BaseTest.testName(testResult.getMethod().getConstructorOrMethod().getMethod(),
+                testResult.getParameters());
+        FailureSnapshot snapshot = FailureSnapshot.capture(DriverRegistry.get(), testName, testResult.getThrowable());
+        System.out.println(String.format("Captured failure state of %s in %.0f ms", testName, snapshot.getCaptureMillis()));
+        current.submit(snapshot);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ArtifactWriter current = writer;
+        if (current == null) {
+            return;
+        }
+        writer = null;
+        if (!current.drain(Duration.ofSeconds(TestConfig.getLong("janitri.artifacts.drainTimeoutSeconds", 120)))) {
+            System.out.println("Failure artifact writer did not finish, " + current.getQueueDepth() + " still queued");
+        }
+        if (current.getWritten() > 0 || current.getDropped() > 0) {
+            System.out.println(current.summary());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.janitri.artifacts;
+
+import com.janitri.pages.PageStateProbe;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Raw state of a failed test, grabbed on the test thread while its session is still leased.
+ *
+ * Only what has to come from the browser is done here: the screenshot stays base64 as the
+ * driver returned it, and the DOM and console are kept as strings. Decoding, compression
+ * and disk writes happen later in {@link ArtifactWriter}. Every part is optional; a part
+ * that could not be captured is null and the reason is kept in {@link #getCaptureErrors()}.
+ */
+public final class FailureSnapshot {
+
+    private final String testName;
+    private final String error;
+    private final long capturedAtMillis;
+    private String url;
+    private String title;
+    private String pageState;
+    private String screenshotBase64;
+    private String dom;
+    private List<String> console = Collections.emptyList();
+    private final List<String> captureErrors = new ArrayList<>();
+    private long captureNanos;
+
+    public FailureSnapshot(String testName, Throwable error) {
+        this.testName = testName;
+        this.error = error == null ? null : stackTrace(error);
+        this.capturedAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Grabs screenshot, DOM, page state and browser console from the driver.
+     */
+    public static FailureSnapshot capture(WebDriver driver, String testName, Throwable error) {
+        FailureSnapshot snapshot = new FailureSnapshot(testName, error);
+        long start = System.nanoTime();
+        try {
+            PageStateProbe.Snapshot state = new PageStateProbe(driver).snapshot();
+            snapshot.pageState = state.toString();
+            snapshot.url = state.getUrl();
+        } catch (Exception e) {
+            snapshot.captureErrors.add("page state: " + e.getMessage());
+        }
+        try {
+            snapshot.title = driver.getTitle();
+        } catch (Exception e) {
+            snapshot.captureErrors.add("title: " + e.getMessage());
+        }
+        try {
+            snapshot.screenshotBase64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+        } catch (Exception e) {
+            snapshot.captureErrors.add("screenshot: " + e.getMessage());
+        }
+        try {
+            Object html = ((JavascriptExecutor) driver).executeScript("return document.documentElement.outerHTML;");
+            snapshot.dom = html == null ? null : html.toString();
+        } catch (Exception e) {
+            snapshot.captureErrors.add("dom: " + e.getMessage());
+        }
+        try {
+            // Needs goog:loggingPrefs, set in ChromeSessionFactory.buildOptions()
+            List<String> lines = new ArrayList<>();
+            for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+                lines.add(entry.toString());
+            }
+            snapshot.console = lines;
+        } catch (Exception e) {
+            snapshot.captureErrors.add("console: " + e.getMessage());
+        }
+        snapshot.captureNanos = System.nanoTime() - start;
+        return snapshot;
+    }
+
+    private static String stackTrace(Throwable error) {
+        StringWriter out = new StringWriter();
+        error.printStackTrace(new PrintWriter(out));
+        return out.toString();
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    // Stack trace of the failure, null if none was reported
+    public String getError() {
+        return error;
+    }
+
+    public long getCapturedAtMillis() {
+        return capturedAtMillis;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getPageState() {
+        return pageState;
+    }
+
+    public String getScreenshotBase64() {
+        return screenshotBase64;
+    }
+
+    public String getDom() {
+        return dom;
+    }
+
+    public List<String> getConsole() {
+        return console;
+    }
+
+    public List<String> getCaptureErrors() {
+        return captureErrors;
+    }
+
+    // Time the test thread spent talking to the browser
+    public double getCaptureMillis() {
+        return captureNanos / 1_000_000.0;
+    }
+
+    // For snapshots built without a browser
+    public FailureSnapshot withPage(String url, String title, String pageState, String screenshotBase64, String dom,
+                                    List<String> console) {
+        this.url = url;
+        this.title = title;
+        this.pageState = pageState;
+        this.screenshotBase64 = screenshotBase64;
+        this.dom = dom;
+        this.console = console;
+        return this;
+    }
+}
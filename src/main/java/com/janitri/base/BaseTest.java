@@ -1,71 +1,131 @@
 package com.janitri.base;
+import com.janitri.driver.BrowserContexts;
+import com.janitri.driver.ChromeSessionFactory;
+import com.janitri.driver.DriverPool;
+import com.janitri.driver.DriverRegistry;
+import com.janitri.driver.NotificationPermissions;
+import com.janitri.driver.PrewarmedDriverFactory;
+import com.janitri.driver.SessionState;
+import com.janitri.driver.SessionStateCache;
+import com.janitri.driver.SharedChromeService;
+import com.janitri.locators.ElementCache;
+import com.janitri.locators.MultiSelectorResolver;
+import com.janitri.metrics.CommandLatency;
+import com.janitri.locators.SelectorRankingStore;
+import com.janitri.pages.PageState;
+import com.janitri.pages.PageStateProbe;
+import com.janitri.server.LoginStubServer;
+import com.janitri.waits.PageWaits;
+import com.janitri.waits.WaitBudget;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.By;
-import org.openqa.selenium.WebElement;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.BeforeTest;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
+import org.testng.xml.XmlSuite;
+import java.lang.reflect.Method;
 import java.time.Duration;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.List;
+import java.util.function.Supplier;
 import org.openqa.selenium.JavascriptExecutor;
 
 public class BaseTest {
-    protected WebDriver driver;
+    // Common selectors for notification permission buttons
+    private static final List<String> ALLOW_SELECTORS = List.of(
+            "//button[contains(text(), 'Allow')]",
+            "//button[contains(text(), 'Allow notifications')]",
+            "//button[contains(@aria-label, 'Allow')]",
+            "//button[contains(@title, 'Allow')]",
+            "//div[contains(@class, 'notification')]//button[contains(text(), 'Allow')]",
+            "//*[contains(text(), 'Allow') and contains(@role, 'button')]",
+            "//*[contains(text(), 'Allow')]",
+            "//button[contains(., 'Allow')]",
+            "//*[contains(text(), 'Allow')]//ancestor::button",
+            "//button[contains(., 'Allow') or contains(., 'allow')]"
+    );
 
-    @BeforeMethod
-    public void setUp() {
-        try {
-            // Suppress CDP warnings
-            Logger.getLogger("org.openqa.selenium").setLevel(Level.OFF);
-            System.setProperty("webdriver.chrome.silentOutput", "true");
-            
-            // Clear any system properties that might interfere
-            System.clearProperty("webdriver.chrome.driver");
+    private static final List<String> RELOAD_SELECTORS = List.of(
+            "//button[contains(text(), 'Reload')]",
+            "//a[contains(text(), 'Reload')]",
+            "//*[contains(text(), 'Reload')]",
+            "//*[contains(text(), 'reload')]",
+            "//button[contains(., 'Reload')]",
+            "//*[contains(text(), 'Reload')]//ancestor::button",
+            "//button[contains(., 'Reload') or contains(., 'reload')]"
+    );
 
-            System.out.println("Setting up ChromeDriver with Selenium Manager...");
+    private static DriverPool driverPool;
+    private static PrewarmedDriverFactory prewarmedDrivers;
+    // Thread count of the running suite, used to size the pool when not configured explicitly
+    private static int suiteThreadCount = 1;
 
-            // Set up Chrome options for better stability and performance
-            ChromeOptions options = new ChromeOptions();
-            
-            // Essential options for stability
-            options.addArguments("--no-sandbox");
-            options.addArguments("--disable-dev-shm-usage");
-            options.addArguments("--disable-gpu");
-            options.addArguments("--remote-allow-origins=*");
-            
-            // Handle notifications permission
-            options.addArguments("--disable-notifications");
-            options.addArguments("--disable-popup-blocking");
-            
-            // Suppress CDP warnings
-            options.addArguments("--disable-logging");
-            options.addArguments("--log-level=3");
-            options.addArguments("--silent");
+    // Suite-level configuration methods cannot take an ITestContext, so read it before each <test>
+    @BeforeTest(alwaysRun = true)
+    public void configureDriverPool(ITestContext context) {
+        XmlSuite suite = context.getSuite().getXmlSuite();
+        if (suite.getParallel() != null && suite.getParallel().isParallel()) {
+            suiteThreadCount = Math.max(suiteThreadCount, suite.getThreadCount());
+        }
+        // Parallel data providers run their rows on a separate pool of threads
+        suiteThreadCount = Math.max(suiteThreadCount, suite.getDataProviderThreadCount());
+        System.out.println("Suite running with " + suiteThreadCount + " thread(s)");
+    }
 
-            // Let Selenium Manager handle ChromeDriver automatically
-            driver = new ChromeDriver(options);
+    /**
+     * Sizes the pool for callers outside TestNG that run this many sessions concurrently.
+     * Must be called before the first session is acquired.
+     */
+    protected static synchronized void expectConcurrentSessions(int sessions) {
+        suiteThreadCount = Math.max(suiteThreadCount, sessions);
+    }
 
-            System.out.println("ChromeDriver initialized successfully");
+    @BeforeSuite(alwaysRun = true)
+    public static void startLocalTarget() {
+        // -Djanitri.target=local serves the login page from an embedded stand-in
+        LoginStubServer.startIfConfigured();
+    }
 
-            // Set faster timeouts for better performance
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
-            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(15));
+    @BeforeMethod
+    public void setUp(Method method, Object[] parameters) {
+        String testName = testName(method, parameters);
+        // WebDriver time of this test is reported per test method at suite end
+        CommandLatency.shared().startTest(testName);
+        // Every wait of this test, setup included, draws down one budget
+        WaitBudget.begin(testName);
+        setUp();
+    }
+
+    /**
+     * Name a test is reported under in latency, wait budget and failure artifact output.
+     */
+    public static String testName(Method method, Object[] parameters) {
+        String testName = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        if (parameters != null && parameters.length > 0) {
+            // Data-driven rows are reported separately, e.g. "testLoginCase[TC002 Login with invalid email]"
+            testName += "[" + parameters[0] + "]";
+        }
+        return testName;
+    }
 
-            // Maximize window and navigate
-            driver.manage().window().maximize();
+    public void setUp() {
+        WebDriver driver = null;
+        try {
+            // Warm, reset session from the pool - already sitting on the login page
+            driver = driverPool().acquire();
+            DriverRegistry.set(driver);
 
-            System.out.println("Navigating to: https://dev-dash.janitri.in/");
-            driver.get("https://dev-dash.janitri.in/");
+            if (!restoredReady(driver)) {
+                // Handle notification permission if needed
+                handleNotificationPermission(driver);
 
-            // Handle notification permission if needed
-            handleNotificationPermission();
+                // Wait for the page to settle instead of sleeping a fixed time
+                new PageWaits(driver).domSettled(PageWaits.DEFAULT_QUIET, Duration.ofSeconds(5));
 
-            // Wait a bit for page to fully load
-            Thread.sleep(2000);
+                captureSessionState(driver);
+            }
 
             System.out.println("Current URL: " + driver.getCurrentUrl());
             System.out.println("Page title: " + driver.getTitle());
@@ -73,100 +133,201 @@ public class BaseTest {
         } catch (Exception e) {
             System.err.println("Error in setUp: " + e.getMessage());
             e.printStackTrace();
+            DriverRegistry.remove();
+            if (driver != null) {
+                driverPool().invalidate(driver);
+            }
             throw new RuntimeException("Failed to initialize WebDriver", e);
         }
     }
 
-    private void handleNotificationPermission() {
+    /**
+     * Session owned by the calling test thread.
+     */
+    protected WebDriver getDriver() {
+        return DriverRegistry.get();
+    }
+
+    protected static synchronized DriverPool driverPool() {
+        if (driverPool == null) {
+            Supplier<WebDriver> launcher = () -> CommandLatency.instrument(ChromeSessionFactory.createSession());
+            // Pool misses take a browser launched in the background instead of starting one
+            prewarmedDrivers = PrewarmedDriverFactory.fromConfig(launcher);
+            if (prewarmedDrivers != null) {
+                prewarmedDrivers.start();
+            }
+            driverPool = new DriverPool(
+                    prewarmedDrivers != null ? prewarmedDrivers : launcher,
+                    ChromeSessionFactory::resetSession,
+                    TestConfig.poolMinSize(),
+                    TestConfig.poolMaxSize(Math.max(suiteThreadCount, TestConfig.poolMinSize())),
+                    TestConfig.poolMaxUsesPerSession(),
+                    TestConfig.poolIdleTimeout(),
+                    TestConfig.poolAcquireTimeout());
+        }
+        return driverPool;
+    }
+
+    /**
+     * True if the session was loaded from the cached session state and the login form is
+     * already usable, so the notification gate and the settle wait can be skipped. A restored
+     * page that is not ready invalidates the snapshot.
+     */
+    private boolean restoredReady(WebDriver driver) {
+        SessionStateCache states = SessionStateCache.shared();
+        SessionState restored = states.takeRestored(driver);
+        if (restored == null) {
+            return false;
+        }
+        long start = System.nanoTime();
+        PageStateProbe.Snapshot snapshot = new PageStateProbe(driver).snapshot();
+        if (snapshot.getState() != PageState.LOGIN_FORM_READY) {
+            states.invalidate(restored, "restored page was " + snapshot);
+            return false;
+        }
+        states.recordReady(System.nanoTime() - start);
+        System.out.println("Session state restored - login form ready, skipping warm-up");
+        return true;
+    }
+
+    // The first test that reaches a ready login form stores its state for later sessions
+    private void captureSessionState(WebDriver driver) {
+        SessionStateCache states = SessionStateCache.shared();
+        if (!SessionStateCache.isEnabled() || states.current() != null) {
+            return;
+        }
+        try {
+            PageStateProbe.Snapshot snapshot = new PageStateProbe(driver).snapshot();
+            if (snapshot.getState() == PageState.LOGIN_FORM_READY) {
+                states.offer(SessionState.capture(driver, snapshot.getNotificationPermission(), states.now()));
+            }
+        } catch (Exception e) {
+            System.out.println("Could not capture session state: " + e.getMessage());
+        }
+    }
+
+    private void handleNotificationPermission(WebDriver driver) {
+        long start = System.nanoTime();
+        // One lightweight probe instead of serializing the whole page source
+        PageStateProbe.Snapshot snapshot = new PageStateProbe(driver).snapshot();
+        if (NotificationPermissions.isPregrantEnabled() && "granted".equals(snapshot.getNotificationPermission())
+                && snapshot.getState() != PageState.NOTIFICATION_GATE) {
+            NotificationPermissions.recordSkipped(System.nanoTime() - start);
+            System.out.println("Notification permission pre-granted - skipping gate handling");
+            return;
+        }
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-            
             // Check if notification permission dialog appears
-            if (driver.getPageSource().contains("notifications") || 
-                driver.getPageSource().contains("Notifications") ||
-                driver.getPageSource().contains("To proceed to the login page please allow")) {
+            if (snapshot.getState() == PageState.NOTIFICATION_GATE) {
                 
                 System.out.println("Handling notification permission...");
+                MultiSelectorResolver resolver = new MultiSelectorResolver(driver);
+                PageWaits waits = new PageWaits(driver);
+                JavascriptExecutor js = (JavascriptExecutor) driver;
                 
-                // Try to find and click "Allow" button with more robust selectors
+                // Try to find and click "Allow" button - all selectors share one 15s wait
                 try {
-                    // Common selectors for notification permission buttons
-                    String[] allowSelectors = {
-                        "//button[contains(text(), 'Allow')]",
-                        "//button[contains(text(), 'Allow notifications')]",
-                        "//button[contains(@aria-label, 'Allow')]",
-                        "//button[contains(@title, 'Allow')]",
-                        "//div[contains(@class, 'notification')]//button[contains(text(), 'Allow')]",
-                        "//*[contains(text(), 'Allow') and contains(@role, 'button')]",
-                        "//*[contains(text(), 'Allow')]",
-                        "//button[contains(., 'Allow')]",
-                        "//*[contains(text(), 'Allow')]//ancestor::button",
-                        "//button[contains(., 'Allow') or contains(., 'allow')]"
-                    };
-                    
-                    for (String selector : allowSelectors) {
-                        try {
-                            WebElement allowButton = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(selector)));
-                            // Use JavaScript click to avoid interception
-                            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", allowButton);
-                            System.out.println("Clicked Allow for notifications using selector: " + selector);
-                            Thread.sleep(2000);
-                            break;
-                        } catch (Exception e) {
-                            // Continue to next selector
-                        }
+                    MultiSelectorResolver.Match allow = resolver.resolve("notification.allow", ALLOW_SELECTORS,
+                            MultiSelectorResolver.Condition.CLICKABLE, Duration.ofSeconds(15));
+                    if (allow != null) {
+                        // Use JavaScript click to avoid interception, then wait until the page reacted
+                        waits.settleAfter("allowClicked", () -> js.executeScript("arguments[0].click();", allow.getElement()),
+                                PageWaits.DEFAULT_QUIET, Duration.ofSeconds(5));
+                        System.out.println("Clicked Allow for notifications using selector: " + allow.getSelector());
                     }
                     
                     // If there's a reload button, click it
-                    try {
-                        String[] reloadSelectors = {
-                            "//button[contains(text(), 'Reload')]",
-                            "//a[contains(text(), 'Reload')]",
-                            "//*[contains(text(), 'Reload')]",
-                            "//*[contains(text(), 'reload')]",
-                            "//button[contains(., 'Reload')]",
-                            "//*[contains(text(), 'Reload')]//ancestor::button",
-                            "//button[contains(., 'Reload') or contains(., 'reload')]"
-                        };
-                        
-                        for (String selector : reloadSelectors) {
-                            try {
-                                WebElement reloadButton = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(selector)));
-                                // Use JavaScript click to avoid interception
-                                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", reloadButton);
-                                System.out.println("Clicked Reload button using selector: " + selector);
-                                Thread.sleep(3000);
-                                break;
-                            } catch (Exception e) {
-                                // Continue to next selector
-                            }
-                        }
-                    } catch (Exception e) {
+                    MultiSelectorResolver.Match reload = resolver.resolve("notification.reload", RELOAD_SELECTORS,
+                            MultiSelectorResolver.Condition.CLICKABLE, Duration.ofSeconds(15));
+                    if (reload != null) {
+                        // Use JavaScript click to avoid interception, then wait for the reloaded page
+                        waits.settleAfter("reloadClicked", () -> js.executeScript("arguments[0].click();", reload.getElement()),
+                                PageWaits.DEFAULT_QUIET, Duration.ofSeconds(10));
+                        System.out.println("Clicked Reload button using selector: " + reload.getSelector());
+                    } else {
                         System.out.println("No reload button found");
                     }
                     
                 } catch (Exception e) {
                     System.out.println("Could not handle notification permission: " + e.getMessage());
+                } finally {
+                    // Only a gate that was actually handled counts; a probe that found none does not
+                    NotificationPermissions.recordHandled(System.nanoTime() - start);
                 }
             }
             
-            // Wait a bit more to ensure the page is fully loaded after notification handling
-            Thread.sleep(2000);
-            
         } catch (Exception e) {
             System.out.println("Error handling notification permission: " + e.getMessage());
         }
     }
 
-    @AfterMethod
+    @AfterMethod(alwaysRun = true)
+    public void tearDown(ITestResult result) {
+        tearDown();
+        WaitBudget budget = WaitBudget.end();
+        // Page object methods swallow most exceptions, so an exhausted budget fails the test here
+        if (budget.isExhausted() && result.getStatus() == ITestResult.SUCCESS) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(budget.getExhaustion());
+            System.out.println(budget.getExhaustion().getMessage());
+        }
+    }
+
     public void tearDown() {
+        WebDriver driver = DriverRegistry.remove();
         if (driver != null) {
-            try {
-                driver.quit();
-                System.out.println("Driver closed successfully");
-            } catch (Exception e) {
-                System.out.println("Error closing driver: " + e.getMessage());
-            }
+            // Hand the session back for the next test instead of quitting it
+            driverPool().release(driver);
+            System.out.println("Driver returned to pool");
         }
+        CommandLatency.shared().finishTest();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public static synchronized void shutdownDriverPool() {
+        if (prewarmedDrivers != null) {
+            System.out.println(prewarmedDrivers.summary());
+            prewarmedDrivers.shutdown();
+            prewarmedDrivers = null;
+        }
+        if (driverPool != null) {
+            System.out.println(driverPool.summary());
+            driverPool.shutdown();
+            driverPool = null;
+            suiteThreadCount = 1;
+            System.out.println("Driver pool closed successfully");
+        }
+        BrowserContexts.shutdownShared();
+        SharedChromeService.shutdown();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public static void stopLocalTarget() {
+        LoginStubServer.stopShared();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public static void reportNotificationGate() {
+        System.out.println(NotificationPermissions.summary());
+        System.out.println(SessionStateCache.shared().summary());
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public static void reportCommandLatency() {
+        CommandLatency latency = CommandLatency.shared();
+        if (!latency.isEmpty()) {
+            System.out.println(latency.summary());
+            latency.exportIfConfigured();
+        }
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public static void reportElementCache() {
+        System.out.println(ElementCache.summary());
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public static void saveSelectorRanking() {
+        SelectorRankingStore.shared().save();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package com.janitri.base;
+
+import java.time.Duration;
+
+/**
+ * Central place for framework settings.
+ * Every value has a sensible default and can be overridden with a -D system property,
+ * either on the command line or through surefire's systemPropertyVariables.
+ */
+public final class TestConfig {
+
+    private TestConfig() {
+    }
+
+    // Target application
+    public static String baseUrl() {
+        return get("janitri.baseUrl", "https://dev-dash.janitri.in/");
+    }
+
+    // WebDriver session pool
+    public static int poolMinSize() {
+        return getInt("janitri.pool.minSize", 0);
+    }
+
+    // Defaults to the suite thread count so every worker can hold a session
+    public static int poolMaxSize(int defaultSize) {
+        return getInt("janitri.pool.maxSize", defaultSize);
+    }
+
+    public static int poolMaxUsesPerSession() {
+        return getInt("janitri.pool.maxUses", 25);
+    }
+
+    public static Duration poolIdleTimeout() {
+        return Duration.ofSeconds(getLong("janitri.pool.idleTimeoutSeconds", 120));
+    }
+
+    public static Duration poolAcquireTimeout() {
+        return Duration.ofSeconds(getLong("janitri.pool.acquireTimeoutSeconds", 120));
+    }
+
+    // Generic accessors
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(get(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            System.out.println("Ignoring invalid value for " + key + ": " + System.getProperty(key));
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        try {
+            return Long.parseLong(get(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            System.out.println("Ignoring invalid value for " + key + ": " + System.getProperty(key));
+            return defaultValue;
+        }
+    }
+
+    public static double getDouble(String key, double defaultValue) {
+        try {
+            return Double.parseDouble(get(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            System.out.println("Ignoring invalid value for " + key + ": " + System.getProperty(key));
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(get(key, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,132 @@
+package com.janitri.data;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One row of the login test case spreadsheet, mapped to the {@link Action} that exercises it.
+ *
+ * Recognised columns: "Test Case ID", "Test Scenario", "Steps to Reproduce",
+ * "Expected Result", "Test Type" and the optional "Email" / "Password" columns. Rows
+ * without credentials use the same defaults as the hand-written tests.
+ */
+public final class LoginCase {
+
+    /**
+     * What a case does on the login page, derived from keywords in its scenario.
+     */
+    public enum Action {
+        VALID_LOGIN,
+        INVALID_EMAIL,
+        INVALID_PASSWORD,
+        EMPTY_FIELDS,
+        PASSWORD_MASKED,
+        TOGGLE_VISIBILITY,
+        EMAIL_ACCEPTS_TEXT,
+        BUTTON_STATE,
+        EMAIL_FORMAT_VALIDATION,
+        PAGE_ELEMENTS,
+        UNKNOWN;
+
+        /**
+         * Most specific keywords first: "Login button disabled when fields are empty" is a
+         * button check, not an empty-fields login.
+         */
+        static Action fromScenario(String scenario) {
+            String s = scenario.toLowerCase(Locale.ROOT);
+            if (s.contains("toggle") || s.contains("visibility")) {
+                return TOGGLE_VISIBILITY;
+            }
+            if (s.contains("mask")) {
+                return PASSWORD_MASKED;
+            }
+            if (s.contains("button")) {
+                return BUTTON_STATE;
+            }
+            if (s.contains("format") || s.contains("validation")) {
+                return EMAIL_FORMAT_VALIDATION;
+            }
+            if (s.contains("elements")) {
+                return PAGE_ELEMENTS;
+            }
+            if (s.contains("accepts text") || s.contains("input accepts")) {
+                return EMAIL_ACCEPTS_TEXT;
+            }
+            if (s.contains("invalid email") || s.contains("wrong email")) {
+                return INVALID_EMAIL;
+            }
+            if (s.contains("invalid password") || s.contains("wrong password")) {
+                return INVALID_PASSWORD;
+            }
+            if (s.contains("empty") || s.contains("blank")) {
+                return EMPTY_FIELDS;
+            }
+            if (s.contains("valid credentials")) {
+                return VALID_LOGIN;
+            }
+            return UNKNOWN;
+        }
+    }
+
+    private final String id;
+    private final String scenario;
+    private final String expected;
+    private final String type;
+    private final Action action;
+    private final String email;
+    private final String password;
+
+    public LoginCase(String id, String scenario, String expected, String type, String email, String password) {
+        this.id = id;
+        this.scenario = scenario;
+        this.expected = expected;
+        this.type = type;
+        this.action = Action.fromScenario(scenario);
+        this.email = email;
+        this.password = password;
+    }
+
+    public static LoginCase fromRow(Map<String, String> row) {
+        return new LoginCase(
+                row.getOrDefault("Test Case ID", ""),
+                row.getOrDefault("Test Scenario", ""),
+                row.getOrDefault("Expected Result", ""),
+                row.getOrDefault("Test Type", ""),
+                row.get("Email"),
+                row.get("Password"));
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public String getExpected() {
+        return expected;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    // Credentials from the row, or the given default when the column is absent or empty
+    public String emailOr(String defaultEmail) {
+        return email == null || email.isEmpty() ? defaultEmail : email;
+    }
+
+    public String passwordOr(String defaultPassword) {
+        return password == null || password.isEmpty() ? defaultPassword : password;
+    }
+
+    @Override
+    public String toString() {
+        return id + " " + scenario;
+    }
+}
@@ -0,0 +1,76 @@
+package com.janitri.data;
+
+import com.janitri.base.TestConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily turns spreadsheet rows into TestNG data provider rows ({@code Object[]{LoginCase}}).
+ *
+ * Rows are read on demand as TestNG pulls them, and the workbook is closed as soon as the
+ * last row has been handed out. The file is {@code Janitri_Login_TestCases.xlsx} in the
+ * working directory unless {@code -Djanitri.cases.file} points elsewhere.
+ */
+public final class LoginCaseSource implements Iterator<Object[]> {
+
+    private final XlsxRowReader reader;
+    private LoginCase pending;
+    private boolean closed;
+
+    private LoginCaseSource(XlsxRowReader reader) {
+        this.reader = reader;
+    }
+
+    public static Path configuredFile() {
+        return Paths.get(TestConfig.get("janitri.cases.file", "Janitri_Login_TestCases.xlsx"));
+    }
+
+    public static LoginCaseSource open(Path file) {
+        try {
+            return new LoginCaseSource(new XlsxRowReader(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open login cases from " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        while (pending == null && !closed) {
+            if (!reader.hasNext()) {
+                close();
+                break;
+            }
+            Map<String, String> row = reader.next();
+            // Skip rows without an ID, e.g. notes below the table
+            if (!row.getOrDefault("Test Case ID", "").isEmpty()) {
+                pending = LoginCase.fromRow(row);
+            }
+        }
+        return pending != null;
+    }
+
+    @Override
+    public synchronized Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        LoginCase loginCase = pending;
+        pending = null;
+        return new Object[]{loginCase};
+    }
+
+    private void close() {
+        closed = true;
+        try {
+            reader.close();
+        } catch (IOException e) {
+            System.out.println("Could not close login case workbook: " + e.getMessage());
+        }
+    }
+}
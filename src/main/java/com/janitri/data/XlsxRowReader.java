@@ -0,0 +1,295 @@
+package com.janitri.data;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streams the rows of the first worksheet of an .xlsx file with StAX.
+ *
+ * Only the current row is held in memory (plus the workbook's shared string table, which
+ * Excel de-duplicates), so sheets with thousands of rows cost the same as a dozen. The
+ * first row is the header; every following non-blank row is returned as a map from trimmed
+ * header to trimmed cell text. Formulas are returned as their cached value.
+ */
+public class XlsxRowReader implements Iterator<Map<String, String>>, AutoCloseable {
+
+    private static final String SHARED_STRINGS = "xl/sharedStrings.xml";
+    private static final String WORKBOOK_RELS = "xl/_rels/workbook.xml.rels";
+    private static final String WORKBOOK = "xl/workbook.xml";
+    private static final String DEFAULT_SHEET = "xl/worksheets/sheet1.xml";
+
+    private static final XMLInputFactory XML = XMLInputFactory.newFactory();
+
+    static {
+        XML.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final ZipFile zip;
+    private final InputStream sheetStream;
+    private final XMLStreamReader sheet;
+    private final List<String> sharedStrings;
+    private final List<String> headers;
+    private Map<String, String> next;
+
+    public XlsxRowReader(Path file) throws IOException {
+        zip = new ZipFile(file.toFile());
+        try {
+            sharedStrings = readSharedStrings(zip);
+            ZipEntry entry = zip.getEntry(firstSheetPath(zip));
+            if (entry == null) {
+                throw new IOException("No worksheet found in " + file);
+            }
+            sheetStream = zip.getInputStream(entry);
+            sheet = XML.createXMLStreamReader(sheetStream);
+            List<String> headerRow = readRow();
+            headers = new ArrayList<>();
+            if (headerRow != null) {
+                for (String header : headerRow) {
+                    headers.add(header.trim());
+                }
+            }
+            next = advance();
+        } catch (XMLStreamException e) {
+            zip.close();
+            throw new IOException("Could not read " + file + ": " + e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            zip.close();
+            throw e;
+        }
+    }
+
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public Map<String, String> next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        Map<String, String> row = next;
+        try {
+            next = advance();
+        } catch (XMLStreamException e) {
+            throw new UncheckedIOException(new IOException("Malformed worksheet: " + e.getMessage(), e));
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException e) {
+            // Closing the zip releases the stream anyway
+        }
+        sheetStream.close();
+        zip.close();
+    }
+
+    // Next non-blank row as header -> value
+    private Map<String, String> advance() throws XMLStreamException {
+        List<String> cells;
+        while ((cells = readRow()) != null) {
+            Map<String, String> row = new LinkedHashMap<>();
+            boolean blank = true;
+            for (int i = 0; i < headers.size(); i++) {
+                String value = i < cells.size() ? cells.get(i).trim() : "";
+                blank &= value.isEmpty();
+                if (!headers.get(i).isEmpty()) {
+                    row.put(headers.get(i), value);
+                }
+            }
+            if (!blank) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    // Cells of the next <row>, indexed by column (gaps filled with ""), or null at the end
+    private List<String> readRow() throws XMLStreamException {
+        boolean found = false;
+        while (!found && sheet.hasNext()) {
+            found = sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName());
+        }
+        if (!found) {
+            return null;
+        }
+        List<String> cells = new ArrayList<>();
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(sheet.getLocalName())) {
+                return cells;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(sheet.getLocalName())) {
+                String ref = sheet.getAttributeValue(null, "r");
+                String type = sheet.getAttributeValue(null, "t");
+                int column = ref == null ? cells.size() : columnIndex(ref);
+                String value = readCell(type);
+                while (cells.size() < column) {
+                    cells.add("");
+                }
+                if (column < cells.size()) {
+                    cells.set(column, value);
+                } else {
+                    cells.add(value);
+                }
+            }
+        }
+        return cells;
+    }
+
+    private String readCell(String type) throws XMLStreamException {
+        StringBuilder value = new StringBuilder();
+        StringBuilder inline = new StringBuilder();
+        boolean inValue = false;
+        boolean inText = false;
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                inValue = "v".equals(sheet.getLocalName());
+                inText = "t".equals(sheet.getLocalName());
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                if (inValue) {
+                    value.append(sheet.getText());
+                } else if (inText) {
+                    inline.append(sheet.getText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if ("c".equals(sheet.getLocalName())) {
+                    break;
+                }
+                inValue = false;
+                inText = false;
+            }
+        }
+        if ("inlineStr".equals(type)) {
+            return inline.toString();
+        }
+        if ("s".equals(type)) {
+            try {
+                return sharedStrings.get(Integer.parseInt(value.toString().trim()));
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                return "";
+            }
+        }
+        if ("b".equals(type)) {
+            return "1".equals(value.toString().trim()) ? "TRUE" : "FALSE";
+        }
+        return value.toString();
+    }
+
+    // "C12" -> 2
+    static int columnIndex(String cellRef) {
+        int index = 0;
+        for (int i = 0; i < cellRef.length() && Character.isLetter(cellRef.charAt(i)); i++) {
+            index = index * 26 + (Character.toUpperCase(cellRef.charAt(i)) - 'A' + 1);
+        }
+        return Math.max(0, index - 1);
+    }
+
+    private static List<String> readSharedStrings(ZipFile zip) throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zip.getEntry(SHARED_STRINGS);
+        if (entry == null) {
+            return strings;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader reader = XML.createXMLStreamReader(in);
+            StringBuilder current = null;
+            boolean inText = false;
+            // Phonetic runs (<rPh>) hold furigana, not cell text
+            boolean inPhonetic = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("si".equals(name)) {
+                        current = new StringBuilder();
+                    } else if ("rPh".equals(name)) {
+                        inPhonetic = true;
+                    } else if ("t".equals(name)) {
+                        inText = !inPhonetic;
+                    }
+                } else if ((event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)
+                        && inText && current != null) {
+                    current.append(reader.getText());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("si".equals(name) && current != null) {
+                        strings.add(current.toString());
+                        current = null;
+                    } else if ("rPh".equals(name)) {
+                        inPhonetic = false;
+                    } else if ("t".equals(name)) {
+                        inText = false;
+                    }
+                }
+            }
+            reader.close();
+        }
+        return strings;
+    }
+
+    // Path of the first <sheet> in workbook order, via the workbook relationships
+    private static String firstSheetPath(ZipFile zip) throws IOException, XMLStreamException {
+        ZipEntry workbook = zip.getEntry(WORKBOOK);
+        ZipEntry rels = zip.getEntry(WORKBOOK_RELS);
+        if (workbook == null || rels == null) {
+            return DEFAULT_SHEET;
+        }
+        String relationId = null;
+        try (InputStream in = zip.getInputStream(workbook)) {
+            XMLStreamReader reader = XML.createXMLStreamReader(in);
+            while (reader.hasNext() && relationId == null) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(reader.getLocalName())) {
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        if ("id".equals(reader.getAttributeLocalName(i))) {
+                            relationId = reader.getAttributeValue(i);
+                        }
+                    }
+                }
+            }
+            reader.close();
+        }
+        if (relationId == null) {
+            return DEFAULT_SHEET;
+        }
+        Map<String, String> targets = new LinkedHashMap<>();
+        try (InputStream in = zip.getInputStream(rels)) {
+            XMLStreamReader reader = XML.createXMLStreamReader(in);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(reader.getLocalName())) {
+                    targets.put(reader.getAttributeValue(null, "Id"), reader.getAttributeValue(null, "Target"));
+                }
+            }
+            reader.close();
+        }
+        String target = targets.get(relationId);
+        if (target == null) {
+            return DEFAULT_SHEET;
+        }
+        return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+    }
+}
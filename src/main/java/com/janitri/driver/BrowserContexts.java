@@ -0,0 +1,318 @@
+package com.janitri.driver;
+
+import com.janitri.base.TestConfig;
+import com.janitri.metrics.BrowserMetrics;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Runs several test sessions inside one Chrome process, each in its own browser context.
+ *
+ * A browser context is what an incognito window uses: cookies, storage, cache and
+ * permissions are separate, but the browser process and its shared renderers are not, so a
+ * session costs far less memory than a Chrome of its own. For every session a context and
+ * a window in it are created through DevTools ({@code Target.createBrowserContext},
+ * {@code Target.createTarget}) on a host Chrome, and a second chromedriver session is
+ * attached to that Chrome through its debugger address and switched to the new window.
+ * Tests get a normal {@link ChromeDriver}; quitting it disposes the context.
+ *
+ * A host takes up to {@code -Djanitri.browserContexts.perBrowser} (default 8) sessions,
+ * then another Chrome is started. Enable with {@code -Djanitri.browserContexts.enabled=true}.
+ */
+public final class BrowserContexts {
+
+    /**
+     * Session attached to a host Chrome; quitting it closes its browser context.
+     */
+    private static final class ContextDriver extends ChromeDriver {
+        private final Host host;
+        private final String contextId;
+
+        ContextDriver(ChromeDriverService service, ChromeOptions options, Host host, String contextId) {
+            super(service, options);
+            this.host = host;
+            this.contextId = contextId;
+        }
+
+        @Override
+        public void quit() {
+            try {
+                // An attached session detaches on quit and leaves its window open
+                super.quit();
+            } finally {
+                CONTEXT_SESSIONS.remove(this);
+                host.dispose(contextId);
+            }
+        }
+    }
+
+    /**
+     * One Chrome process started through chromedriver, used only to open contexts.
+     *
+     * Slots are handed out while the Chrome is still starting; {@link #started} completes
+     * once it is up, so the launch does not happen under the pool lock.
+     */
+    private static final class Host {
+        final int id;
+        final AtomicInteger live = new AtomicInteger();
+        final CompletableFuture<Host> started = new CompletableFuture<>();
+        volatile ChromeDriver driver;
+        volatile String debuggerAddress;
+
+        Host(int id) {
+            this.id = id;
+        }
+
+        // Waits for the Chrome of this host to be up; rethrows its launch failure
+        Host await() {
+            try {
+                return started.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        Map<String, Object> cdp(String command, Map<String, Object> params) {
+            // One driver serves every pool thread; WebDriver instances are not thread-safe
+            synchronized (driver) {
+                return ((HasCdp) driver).executeCdpCommand(command, params);
+            }
+        }
+
+        void dispose(String contextId) {
+            live.decrementAndGet();
+            try {
+                cdp("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+            } catch (WebDriverException e) {
+                // Host already gone - its contexts went with it
+            }
+        }
+    }
+
+    // Keyed by the raw driver; a CommandLatency decorator finds it too, its equals and
+    // hashCode are the wrapped driver's
+    private static final Set<WebDriver> CONTEXT_SESSIONS =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private static BrowserContexts shared;
+
+    private final int perBrowser;
+    private final List<Host> hosts = new ArrayList<>();
+    private int nextHostId;
+    private boolean closed;
+
+    private final LongAdder opened = new LongAdder();
+    private final AtomicInteger peakLive = new AtomicInteger();
+    private volatile long peakRssKb = -1;
+
+    private BrowserContexts(int perBrowser) {
+        this.perBrowser = Math.max(1, perBrowser);
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("janitri.browserContexts.enabled", false);
+    }
+
+    /**
+     * Whether the session runs in its own browser context. Its permissions were granted for
+     * that context by {@link #newSession()}; a plain {@code Browser.grantPermissions} would
+     * reach the default context instead. Also holds for the session behind a decorator,
+     * e.g. the one {@code CommandLatency.instrument} returns.
+     */
+    public static boolean isContextSession(WebDriver driver) {
+        return driver != null && CONTEXT_SESSIONS.contains(driver);
+    }
+
+    /**
+     * Marks {@code driver} as running in its own browser context, until it quits.
+     */
+    public static void registerContextSession(WebDriver driver) {
+        CONTEXT_SESSIONS.add(driver);
+    }
+
+    public static synchronized BrowserContexts shared() {
+        if (shared == null) {
+            shared = new BrowserContexts(TestConfig.getInt("janitri.browserContexts.perBrowser", 8));
+        }
+        return shared;
+    }
+
+    /**
+     * New session in a fresh browser context, still on about:blank.
+     */
+    public WebDriver newSession() {
+        Host host = reserveHost();
+        String contextId = null;
+        try {
+            host.await();
+            Map<String, Object> context = host.cdp("Target.createBrowserContext", Map.of("disposeOnDetach", false));
+            contextId = (String) context.get("browserContextId");
+            if (NotificationPermissions.isPregrantEnabled()) {
+                // Profile preferences do not reach a new context, so grant it directly
+                host.cdp("Browser.grantPermissions", Map.of("origin", NotificationPermissions.targetOrigin(),
+                        "permissions", List.of("notifications"), "browserContextId", contextId));
+            }
+            Map<String, Object> params = new HashMap<>();
+            params.put("url", "about:blank");
+            params.put("browserContextId", contextId);
+            String targetId = (String) host.cdp("Target.createTarget", params).get("targetId");
+
+            ContextDriver driver = new ContextDriver(attachService(), attachOptions(host), host, contextId);
+            // chromedriver uses DevTools target ids as window handles
+            driver.switchTo().window(targetId);
+            registerContextSession(driver);
+            opened.increment();
+            recordPeak();
+            return driver;
+        } catch (RuntimeException e) {
+            if (contextId != null) {
+                host.dispose(contextId);
+            } else {
+                host.live.decrementAndGet();
+            }
+            throw e;
+        }
+    }
+
+    // Slot on a host with room, possibly one still starting. When all are full a new host is
+    // added and its Chrome launched by the caller, outside the lock
+    private Host reserveHost() {
+        Host host = null;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Browser contexts have been shut down");
+            }
+            for (Host candidate : hosts) {
+                if (candidate.live.get() < perBrowser) {
+                    candidate.live.incrementAndGet();
+                    return candidate;
+                }
+            }
+            host = new Host(++nextHostId);
+            hosts.add(host);
+            host.live.incrementAndGet();
+        }
+        startHost(host);
+        return host;
+    }
+
+    private void startHost(Host host) {
+        ChromeDriver driver = null;
+        try {
+            ChromeOptions options = ChromeSessionFactory.buildOptions();
+            driver = SharedChromeService.isEnabled()
+                    ? SharedChromeService.newSession(options) : new ChromeDriver(options);
+            Object chromeOptions = ((HasCapabilities) driver).getCapabilities().getCapability("goog:chromeOptions");
+            Object address = chromeOptions instanceof Map ? ((Map<?, ?>) chromeOptions).get("debuggerAddress") : null;
+            if (address == null) {
+                throw new WebDriverException("Chrome did not report a debugger address, cannot open browser contexts");
+            }
+            host.driver = driver;
+            host.debuggerAddress = address.toString();
+        } catch (RuntimeException e) {
+            if (driver != null) {
+                driver.quit();
+            }
+            synchronized (this) {
+                hosts.remove(host);
+            }
+            host.started.completeExceptionally(e);
+            return;
+        }
+        boolean shutDown;
+        synchronized (this) {
+            shutDown = closed;
+        }
+        if (shutDown) {
+            // Shut down while this Chrome was starting
+            driver.quit();
+            host.started.completeExceptionally(new IllegalStateException("Browser contexts have been shut down"));
+            return;
+        }
+        System.out.println("Started browser context host #" + host.id + " at " + host.debuggerAddress);
+        host.started.complete(host);
+    }
+
+    private static ChromeDriverService attachService() {
+        return SharedChromeService.isEnabled()
+                ? SharedChromeService.service(new ChromeOptions()) : ChromeDriverService.createDefaultService();
+    }
+
+    // Attaching ignores launch options; only what applies per session is set
+    private static ChromeOptions attachOptions(Host host) {
+        ChromeOptions options = new ChromeOptions();
+        options.setExperimentalOption("debuggerAddress", host.debuggerAddress);
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability(ChromeOptions.LOGGING_PREFS, logging);
+        return options;
+    }
+
+    private synchronized void recordPeak() {
+        int live = 0;
+        for (Host host : hosts) {
+            live += host.live.get();
+        }
+        if (live > peakLive.get()) {
+            peakLive.set(live);
+            // Chrome memory at the highest number of open sessions
+            peakRssKb = BrowserMetrics.chromeRssKb();
+        }
+    }
+
+    public synchronized void shutdown() {
+        closed = true;
+        for (Host host : hosts) {
+            if (host.driver == null) {
+                // Still starting - quits itself once up
+                continue;
+            }
+            try {
+                host.driver.quit();
+            } catch (Exception e) {
+                System.out.println("Could not stop browser context host #" + host.id + ": " + e.getMessage());
+            }
+        }
+        hosts.clear();
+    }
+
+    /**
+     * Stops all hosts of the shared instance, if it was used.
+     */
+    public static synchronized void shutdownShared() {
+        if (shared != null) {
+            System.out.println(shared.summary());
+            shared.shutdown();
+            shared = null;
+        }
+    }
+
+    public synchronized String summary() {
+        long rss = peakRssKb;
+        int peak = peakLive.get();
+        String memory = rss < 0 || peak == 0 ? "n/a"
+                : String.format("%d MB for %d sessions, %.0f MB/session", rss / 1024, peak, rss / 1024.0 / peak);
+        return String.format("BrowserContexts[hosts=%d, opened=%d, peakSessions=%d, chromeRss=%s]",
+                nextHostId, opened.sum(), peak, memory);
+    }
+}
@@ -0,0 +1,132 @@
+package com.janitri.driver;
+
+import com.janitri.base.TestConfig;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+
+import java.time.Duration;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates and resets Chrome sessions for the {@link DriverPool}.
+ * A session handed out by this factory is always sitting on the login page.
+ */
+public final class ChromeSessionFactory {
+
+    private ChromeSessionFactory() {
+    }
+
+    public static WebDriver createSession() {
+        // Suppress CDP warnings
+        Logger.getLogger("org.openqa.selenium").setLevel(Level.OFF);
+        System.setProperty("webdriver.chrome.silentOutput", "true");
+
+        // Clear any system properties that might interfere
+        System.clearProperty("webdriver.chrome.driver");
+
+        WebDriver driver;
+        if (BrowserContexts.isEnabled()) {
+            // Own browser context inside a shared Chrome process instead of a Chrome per session
+            driver = BrowserContexts.shared().newSession();
+        } else if (SharedChromeService.isEnabled()) {
+            // One chromedriver process for all sessions, driver path cached between runs
+            driver = SharedChromeService.newSession(buildOptions());
+        } else {
+            System.out.println("Setting up ChromeDriver with Selenium Manager...");
+
+            // Let Selenium Manager handle ChromeDriver automatically
+            driver = new ChromeDriver(buildOptions());
+        }
+
+        System.out.println("ChromeDriver initialized successfully");
+
+        try {
+            if (NotificationPermissions.isPregrantEnabled() && !BrowserContexts.isContextSession(driver)) {
+                // Grant before the first navigation so the permission gate never renders
+                NotificationPermissions.grant(driver);
+            }
+            if (LeanProfile.isEnabled()) {
+                LeanProfile.applyTo(driver);
+            }
+
+            // No implicit wait: it compounds with explicit waits inside findElement.
+            // Element lookups wait explicitly, within the test's WaitBudget
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(15));
+            // Event-driven waits run as async scripts that bound themselves below this
+            driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(60));
+
+            // Maximize window (the lean profile uses a fixed viewport) and navigate
+            if (!LeanProfile.isEnabled()) {
+                driver.manage().window().maximize();
+            }
+
+            System.out.println("Navigating to: " + TestConfig.baseUrl());
+            // Loads the warmed-up session state first, if a test captured one
+            SessionStateCache.shared().navigate(driver, TestConfig.baseUrl());
+            return driver;
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+    }
+
+    public static ChromeOptions buildOptions() {
+        // Set up Chrome options for better stability and performance
+        ChromeOptions options = new ChromeOptions();
+
+        // Essential options for stability
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--remote-allow-origins=*");
+
+        // Handle notifications permission
+        if (NotificationPermissions.isPregrantEnabled()) {
+            // Allow notifications for the login origin up front instead of blocking them
+            options.setExperimentalOption("prefs", NotificationPermissions.profilePreferences());
+        } else {
+            options.addArguments("--disable-notifications");
+        }
+        options.addArguments("--disable-popup-blocking");
+
+        // Suppress CDP warnings
+        options.addArguments("--disable-logging");
+        options.addArguments("--log-level=3");
+        options.addArguments("--silent");
+
+        // Keep the browser console so failure artifacts can include it
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability(ChromeOptions.LOGGING_PREFS, logging);
+
+        // Headless, fixed viewport and resource blocking
+        if (LeanProfile.isEnabled()) {
+            LeanProfile.applyTo(options);
+        }
+        return options;
+    }
+
+    /**
+     * Brings a reused session back to a clean login page: cookies, localStorage and
+     * sessionStorage are cleared before navigating to the login URL again. If a warmed-up
+     * {@link SessionState} is cached, it is loaded in place of the cleared state.
+     */
+    public static void resetSession(WebDriver driver) {
+        try {
+            // Storage can only be cleared for the origin that is currently loaded
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); } catch (e) {}" +
+                    "try { window.sessionStorage.clear(); } catch (e) {}");
+        } catch (Exception e) {
+            System.out.println("Could not clear web storage: " + e.getMessage());
+        }
+        driver.manage().deleteAllCookies();
+        SessionStateCache.shared().navigate(driver, TestConfig.baseUrl());
+    }
+}
@@ -0,0 +1,140 @@
+package com.janitri.driver;
+
+import com.janitri.base.TestConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Remembers where Selenium Manager found chromedriver and Chrome, keyed by browser version,
+ * so later runs can start the driver without resolving it again.
+ *
+ * The requested channel ({@code browserVersion} capability, "default" when unset) points at
+ * the browser version last seen for it; each version records its driver and browser paths.
+ * Entries whose files no longer exist are ignored. When Chrome updates, session creation
+ * with the old driver fails and the caller {@link #invalidate}s the channel.
+ */
+public class DriverBinaryCache {
+
+    /**
+     * Resolved binaries for one browser version.
+     */
+    public static final class Entry {
+        private final String browserVersion;
+        private final String driverPath;
+        private final String browserPath;
+
+        Entry(String browserVersion, String driverPath, String browserPath) {
+            this.browserVersion = browserVersion;
+            this.driverPath = driverPath;
+            this.browserPath = browserPath;
+        }
+
+        public String getBrowserVersion() {
+            return browserVersion;
+        }
+
+        public String getDriverPath() {
+            return driverPath;
+        }
+
+        // Null when Chrome is found by chromedriver itself (system install)
+        public String getBrowserPath() {
+            return browserPath;
+        }
+
+        @Override
+        public String toString() {
+            return "Chrome " + browserVersion + " -> " + driverPath;
+        }
+    }
+
+    private static DriverBinaryCache shared;
+
+    private final Path file;
+    private final Properties properties = new Properties();
+
+    public DriverBinaryCache(Path file) {
+        this.file = file;
+        load();
+    }
+
+    public static synchronized DriverBinaryCache shared() {
+        if (shared == null) {
+            shared = new DriverBinaryCache(
+                    Paths.get(TestConfig.get("janitri.driverCache.file", ".janitri/driver-binaries.properties")));
+        }
+        return shared;
+    }
+
+    /**
+     * Binaries last recorded for the channel, or null if unknown or no longer on disk.
+     */
+    public synchronized Entry lookup(String channel) {
+        String version = properties.getProperty("channel." + channel);
+        if (version == null) {
+            return null;
+        }
+        String driverPath = properties.getProperty("chrome." + version + ".driver");
+        String browserPath = properties.getProperty("chrome." + version + ".browser");
+        if (driverPath == null || !Files.isExecutable(Paths.get(driverPath))) {
+            return null;
+        }
+        if (browserPath != null && !Files.exists(Paths.get(browserPath))) {
+            return null;
+        }
+        return new Entry(version, driverPath, browserPath);
+    }
+
+    public synchronized void store(String channel, String browserVersion, String driverPath, String browserPath) {
+        properties.setProperty("channel." + channel, browserVersion);
+        properties.setProperty("chrome." + browserVersion + ".driver", driverPath);
+        if (browserPath != null) {
+            properties.setProperty("chrome." + browserVersion + ".browser", browserPath);
+        } else {
+            properties.remove("chrome." + browserVersion + ".browser");
+        }
+        save();
+    }
+
+    /**
+     * Forgets which version the channel resolves to, e.g. after Chrome updated underneath it.
+     */
+    public synchronized void invalidate(String channel) {
+        if (properties.remove("channel." + channel) != null) {
+            save();
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Could not read driver cache from " + file + ": " + e.getMessage());
+            properties.clear();
+        }
+    }
+
+    private void save() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "driver-binaries", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Resolved driver binaries - generated, safe to delete");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("Could not save driver cache to " + file + ": " + e.getMessage());
+        }
+    }
+}
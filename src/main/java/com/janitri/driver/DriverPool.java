@@ -0,0 +1,290 @@
+package com.janitri.driver;
+
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of warm WebDriver sessions.
+ *
+ * Sessions are created on demand up to {@code maxSize}. A released session is reset
+ * before it is handed out again, is recycled once it has served {@code maxUsesPerSession}
+ * tests, and is evicted after sitting idle for {@code idleTimeout} (never shrinking the
+ * pool below {@code minSize}).
+ */
+public class DriverPool {
+
+    private static final class Session {
+        final WebDriver driver;
+        int uses;
+        long lastReleasedNanos;
+
+        Session(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    private final Supplier<WebDriver> factory;
+    private final Consumer<WebDriver> resetter;
+    private final int minSize;
+    private final int maxSize;
+    private final int maxUsesPerSession;
+    private final Duration idleTimeout;
+    private final Duration acquireTimeout;
+
+    private final Semaphore permits;
+    // Most recently released session first, so the warmest browser is reused
+    private final Deque<Session> idle = new ArrayDeque<>();
+    private final Map<WebDriver, Session> leased = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder recycled = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder failedResets = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final AtomicLong resetNanosTotal = new AtomicLong();
+    private final AtomicLong resetNanosMax = new AtomicLong();
+
+    public DriverPool(Supplier<WebDriver> factory, Consumer<WebDriver> resetter,
+                      int minSize, int maxSize, int maxUsesPerSession,
+                      Duration idleTimeout, Duration acquireTimeout) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.factory = factory;
+        this.resetter = resetter;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.maxUsesPerSession = Math.max(1, maxUsesPerSession);
+        this.idleTimeout = idleTimeout;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "driver-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeout.toMillis() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Hands out a session that is sitting on a clean login page, blocking while
+     * {@code maxSize} sessions are already leased.
+     */
+    public WebDriver acquire() {
+        if (closed) {
+            throw new IllegalStateException("Driver pool has been shut down");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Timed out after " + acquireTimeout.getSeconds()
+                        + "s waiting for a pooled WebDriver session");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a pooled WebDriver session", e);
+        }
+
+        try {
+            Session session;
+            while ((session = pollIdle()) != null) {
+                if (reset(session)) {
+                    hits.increment();
+                    leased.put(session.driver, session);
+                    return session.driver;
+                }
+                // Broken session - throw it away and try the next idle one
+                failedResets.increment();
+                quietQuit(session.driver);
+            }
+
+            misses.increment();
+            session = new Session(factory.get());
+            created.increment();
+            leased.put(session.driver, session);
+            return session.driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a session to the pool. Sessions that reached their use limit are quit instead.
+     */
+    public void release(WebDriver driver) {
+        Session session = driver == null ? null : leased.remove(driver);
+        if (session == null) {
+            return;
+        }
+        session.uses++;
+        if (closed || session.uses >= maxUsesPerSession) {
+            if (!closed) {
+                recycled.increment();
+            }
+            quietQuit(session.driver);
+        } else {
+            session.lastReleasedNanos = System.nanoTime();
+            synchronized (idle) {
+                idle.push(session);
+            }
+        }
+        permits.release();
+    }
+
+    /**
+     * Quits a leased session that should not be reused, for example after a crash.
+     */
+    public void invalidate(WebDriver driver) {
+        Session session = driver == null ? null : leased.remove(driver);
+        if (session == null) {
+            return;
+        }
+        quietQuit(session.driver);
+        permits.release();
+    }
+
+    public void shutdown() {
+        closed = true;
+        evictor.shutdownNow();
+        List<Session> toQuit = new ArrayList<>(leased.values());
+        leased.clear();
+        synchronized (idle) {
+            toQuit.addAll(idle);
+            idle.clear();
+        }
+        for (Session session : toQuit) {
+            quietQuit(session.driver);
+        }
+    }
+
+    void evictIdle() {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        List<Session> expired = new ArrayList<>();
+        synchronized (idle) {
+            int total = idle.size() + leased.size();
+            // Oldest sessions sit at the tail of the deque
+            Iterator<Session> it = idle.descendingIterator();
+            while (it.hasNext() && total > minSize) {
+                Session session = it.next();
+                if (session.lastReleasedNanos - cutoff > 0) {
+                    break;
+                }
+                it.remove();
+                expired.add(session);
+                total--;
+            }
+        }
+        for (Session session : expired) {
+            evicted.increment();
+            quietQuit(session.driver);
+        }
+    }
+
+    private Session pollIdle() {
+        synchronized (idle) {
+            return idle.poll();
+        }
+    }
+
+    private boolean reset(Session session) {
+        long start = System.nanoTime();
+        try {
+            resetter.accept(session.driver);
+            return true;
+        } catch (Exception e) {
+            System.out.println("Could not reset pooled session: " + e.getMessage());
+            return false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            resets.increment();
+            resetNanosTotal.addAndGet(elapsed);
+            resetNanosMax.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private static void quietQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.out.println("Error closing driver: " + e.getMessage());
+        }
+    }
+
+    // Statistics
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long total = getHits() + getMisses();
+        return total == 0 ? 0.0 : (double) getHits() / total;
+    }
+
+    public long getCreated() {
+        return created.sum();
+    }
+
+    public long getRecycled() {
+        return recycled.sum();
+    }
+
+    public long getEvicted() {
+        return evicted.sum();
+    }
+
+    public double getAverageResetMillis() {
+        long count = resets.sum();
+        return count == 0 ? 0.0 : resetNanosTotal.get() / 1_000_000.0 / count;
+    }
+
+    public double getMaxResetMillis() {
+        return resetNanosMax.get() / 1_000_000.0;
+    }
+
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    public int getLeasedCount() {
+        return leased.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public String summary() {
+        return String.format("DriverPool[hits=%d, misses=%d, hitRate=%.1f%%, created=%d, recycled=%d, "
+                        + "evicted=%d, failedResets=%d, avgReset=%.1fms, maxReset=%.1fms]",
+                getHits(), getMisses(), getHitRate() * 100, getCreated(), getRecycled(),
+                getEvicted(), failedResets.sum(), getAverageResetMillis(), getMaxResetMillis());
+    }
+}
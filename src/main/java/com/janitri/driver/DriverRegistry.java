@@ -0,0 +1,49 @@
+package com.janitri.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Per-thread holder for the WebDriver session a test is currently using.
+ *
+ * TestNG runs {@code parallel="methods"} tests of the same class instance on several
+ * threads, so the session cannot live in an instance field. Each worker thread binds
+ * its own session here in {@code @BeforeMethod} and must {@link #remove()} it in
+ * {@code @AfterMethod} so pooled worker threads never see a stale driver.
+ */
+public final class DriverRegistry {
+
+    private static final ThreadLocal<WebDriver> CURRENT = new ThreadLocal<>();
+
+    private DriverRegistry() {
+    }
+
+    public static void set(WebDriver driver) {
+        CURRENT.set(driver);
+    }
+
+    /**
+     * Returns the session bound to the calling thread.
+     *
+     * @throws IllegalStateException if no session is bound (setUp failed or was not run)
+     */
+    public static WebDriver get() {
+        WebDriver driver = CURRENT.get();
+        if (driver == null) {
+            throw new IllegalStateException("No WebDriver bound to thread " + Thread.currentThread().getName());
+        }
+        return driver;
+    }
+
+    public static boolean isBound() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Unbinds and returns the calling thread's session, or null if none was bound.
+     */
+    public static WebDriver remove() {
+        WebDriver driver = CURRENT.get();
+        CURRENT.remove();
+        return driver;
+    }
+}
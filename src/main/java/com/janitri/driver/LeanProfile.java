@@ -0,0 +1,72 @@
+package com.janitri.driver;
+
+import com.janitri.base.TestConfig;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * "Lean" execution profile: new headless mode, a fixed viewport instead of a maximized
+ * window, and DevTools URL blocking for images, fonts, media and third-party hosts.
+ *
+ * Select it with {@code -Djanitri.profile=lean}. The block list is a comma separated list of
+ * DevTools URL patterns ({@code *} wildcards) and can be replaced with
+ * {@code -Djanitri.lean.blockList=...}. SVG is deliberately not blocked by default because
+ * icons such as the password eye toggle are often SVG images.
+ */
+public final class LeanProfile {
+
+    static final String DEFAULT_BLOCK_LIST = String.join(",",
+            "*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.ico",
+            "*.woff", "*.woff2", "*.ttf", "*.otf",
+            "*.mp4", "*.webm", "*.mp3",
+            "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*",
+            "*facebook.net*", "*hotjar.com*", "*fonts.googleapis.com*", "*fonts.gstatic.com*");
+
+    private LeanProfile() {
+    }
+
+    public static boolean isEnabled() {
+        return "lean".equalsIgnoreCase(TestConfig.get("janitri.profile", "full"));
+    }
+
+    public static String viewport() {
+        return TestConfig.get("janitri.lean.viewport", "1366,768");
+    }
+
+    public static List<String> blockList() {
+        List<String> patterns = new ArrayList<>();
+        for (String pattern : TestConfig.get("janitri.lean.blockList", DEFAULT_BLOCK_LIST).split(",")) {
+            if (!pattern.trim().isEmpty()) {
+                patterns.add(pattern.trim());
+            }
+        }
+        return patterns;
+    }
+
+    public static void applyTo(ChromeOptions options) {
+        options.addArguments("--headless=new");
+        options.addArguments("--window-size=" + viewport());
+        options.addArguments("--hide-scrollbars");
+        options.addArguments("--mute-audio");
+    }
+
+    /**
+     * Enables URL blocking for the session. Must run before the first navigation.
+     */
+    public static void applyTo(WebDriver driver) {
+        if (!(driver instanceof HasCdp)) {
+            System.out.println("Lean profile: driver has no DevTools access, resources will not be blocked");
+            return;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        List<String> patterns = blockList();
+        cdp.executeCdpCommand("Network.enable", Map.of());
+        cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", patterns));
+        System.out.println("Lean profile: blocking " + patterns.size() + " URL pattern(s)");
+    }
+}
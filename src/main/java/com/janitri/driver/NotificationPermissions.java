@@ -0,0 +1,102 @@
+package com.janitri.driver;
+
+import com.janitri.base.TestConfig;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pre-grants the notifications permission for the login page origin, so the
+ * "To proceed to the login page please allow notifications" gate never shows up.
+ *
+ * The permission is granted twice over: through Chrome profile preferences at launch and
+ * through the DevTools {@code Browser.grantPermissions} command once the session exists.
+ * Pages can then see the granted permission and skip the whole gate-handling path.
+ * Time spent on the gate is tracked for both paths so the saving per test is visible.
+ */
+public final class NotificationPermissions {
+
+    private static final LongAdder handledCount = new LongAdder();
+    private static final LongAdder handledNanos = new LongAdder();
+    private static final LongAdder skippedCount = new LongAdder();
+    private static final LongAdder skippedNanos = new LongAdder();
+
+    private NotificationPermissions() {
+    }
+
+    public static boolean isPregrantEnabled() {
+        return TestConfig.getBoolean("janitri.notifications.pregrant", true);
+    }
+
+    /**
+     * Origin of the configured base URL, e.g. {@code https://dev-dash.janitri.in}.
+     */
+    public static String targetOrigin() {
+        URI uri = URI.create(TestConfig.baseUrl());
+        return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+    }
+
+    /**
+     * Chrome profile preferences that allow notifications for the target origin.
+     */
+    public static Map<String, Object> profilePreferences() {
+        URI uri = URI.create(TestConfig.baseUrl());
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equals(uri.getScheme()) ? 443 : 80);
+        String pattern = uri.getScheme() + "://" + uri.getHost() + ":" + port + ",*";
+
+        Map<String, Object> setting = new HashMap<>();
+        // 1 = allow
+        setting.put("setting", 1);
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("profile.content_settings.exceptions.notifications", Map.of(pattern, setting));
+        return prefs;
+    }
+
+    /**
+     * Grants the permission through DevTools. Returns false if the driver has no CDP access.
+     */
+    public static boolean grant(WebDriver driver) {
+        if (!(driver instanceof HasCdp)) {
+            return false;
+        }
+        try {
+            ((HasCdp) driver).executeCdpCommand("Browser.grantPermissions",
+                    Map.of("origin", targetOrigin(), "permissions", List.of("notifications")));
+            return true;
+        } catch (Exception e) {
+            System.out.println("Could not grant notification permission via DevTools: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Gate timing
+    public static void recordHandled(long nanos) {
+        handledCount.increment();
+        handledNanos.add(nanos);
+    }
+
+    public static void recordSkipped(long nanos) {
+        skippedCount.increment();
+        skippedNanos.add(nanos);
+    }
+
+    public static String summary() {
+        double handledAvg = average(handledNanos.sum(), handledCount.sum());
+        double skippedAvg = average(skippedNanos.sum(), skippedCount.sum());
+        String summary = String.format("Notification gate: handled %d time(s), avg %.0f ms; skipped %d time(s), avg %.0f ms",
+                handledCount.sum(), handledAvg, skippedCount.sum(), skippedAvg);
+        if (handledCount.sum() > 0 && skippedCount.sum() > 0) {
+            summary += String.format("; saving per skipped gate %.0f ms", handledAvg - skippedAvg);
+        }
+        return summary;
+    }
+
+    private static double average(long nanos, long count) {
+        return count == 0 ? 0.0 : nanos / 1_000_000.0 / count;
+    }
+}
@@ -0,0 +1,224 @@
+package com.janitri.driver;
+
+import com.janitri.base.TestConfig;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Keeps {@code depth} browsers launched and sitting on the login page ahead of demand.
+ *
+ * Used as the {@link DriverPool} factory: a pool miss takes a ready session instead of
+ * paying for Chrome startup (and Selenium Manager resolution) on the test thread. Every
+ * take schedules a replacement on a background launcher thread. When nothing is ready and
+ * no launch is in flight, for example after launches failed, the caller launches one itself
+ * so the real error surfaces in the test.
+ */
+public class PrewarmedDriverFactory implements Supplier<WebDriver> {
+
+    // How often a blocked caller re-checks whether any launch is still in flight
+    private static final long WAIT_SLICE_MILLIS = 250;
+
+    private final Supplier<WebDriver> launcher;
+    private final int depth;
+    private final Duration takeTimeout;
+    private final ExecutorService launchers;
+    private final LinkedBlockingQueue<WebDriver> ready = new LinkedBlockingQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean closed;
+
+    private final LongAdder takes = new LongAdder();
+    private final LongAdder warmTakes = new LongAdder();
+    private final LongAdder coldLaunches = new LongAdder();
+    private final LongAdder launched = new LongAdder();
+    private final LongAdder launchFailures = new LongAdder();
+    private final AtomicLong waitNanosTotal = new AtomicLong();
+    private final AtomicLong waitNanosMax = new AtomicLong();
+    private final AtomicLong launchNanosTotal = new AtomicLong();
+
+    public PrewarmedDriverFactory(Supplier<WebDriver> launcher, int depth, int launchThreads, Duration takeTimeout) {
+        if (depth < 1 || launchThreads < 1) {
+            throw new IllegalArgumentException("Invalid prewarm settings: depth=" + depth + ", launchThreads=" + launchThreads);
+        }
+        this.launcher = launcher;
+        this.depth = depth;
+        this.takeTimeout = takeTimeout;
+        AtomicInteger counter = new AtomicInteger();
+        this.launchers = Executors.newFixedThreadPool(launchThreads, r -> {
+            Thread t = new Thread(r, "driver-prewarm-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Factory configured from {@code janitri.prewarm.*}, or null when prewarming is disabled.
+     */
+    public static PrewarmedDriverFactory fromConfig(Supplier<WebDriver> launcher) {
+        int depth = TestConfig.getInt("janitri.prewarm.depth", 2);
+        if (depth <= 0) {
+            return null;
+        }
+        return new PrewarmedDriverFactory(launcher, depth,
+                TestConfig.getInt("janitri.prewarm.launchThreads", Math.min(depth, 2)),
+                Duration.ofSeconds(TestConfig.getLong("janitri.prewarm.takeTimeoutSeconds", 60)));
+    }
+
+    /**
+     * Starts launching browsers until {@code depth} are ready or in flight.
+     */
+    public PrewarmedDriverFactory start() {
+        refill();
+        return this;
+    }
+
+    /**
+     * A ready session, blocking while a launch is in flight. Falls back to launching on
+     * the calling thread when nothing is coming.
+     */
+    @Override
+    public WebDriver get() {
+        if (closed) {
+            throw new IllegalStateException("Prewarmed driver factory has been shut down");
+        }
+        takes.increment();
+        long start = System.nanoTime();
+        long deadline = start + takeTimeout.toNanos();
+        WebDriver driver = null;
+        try {
+            driver = ready.poll();
+            while (driver == null && inFlight.get() > 0 && System.nanoTime() < deadline) {
+                driver = ready.poll(WAIT_SLICE_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            long waited = System.nanoTime() - start;
+            waitNanosTotal.addAndGet(waited);
+            waitNanosMax.accumulateAndGet(waited, Math::max);
+        }
+        // Replace what was just taken before doing anything slow on this thread
+        refill();
+        if (driver != null) {
+            warmTakes.increment();
+            return driver;
+        }
+        coldLaunches.increment();
+        return launcher.get();
+    }
+
+    public void shutdown() {
+        closed = true;
+        launchers.shutdownNow();
+        List<WebDriver> toQuit = new ArrayList<>();
+        ready.drainTo(toQuit);
+        for (WebDriver driver : toQuit) {
+            quietQuit(driver);
+        }
+    }
+
+    private void refill() {
+        while (!closed && ready.size() + inFlight.get() < depth) {
+            inFlight.incrementAndGet();
+            try {
+                launchers.execute(this::launchOne);
+            } catch (RejectedExecutionException e) {
+                inFlight.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private void launchOne() {
+        long start = System.nanoTime();
+        WebDriver driver = null;
+        try {
+            driver = launcher.get();
+            launched.increment();
+            launchNanosTotal.addAndGet(System.nanoTime() - start);
+        } catch (Exception e) {
+            // Not retried here; the next take either finds another session or launches itself
+            launchFailures.increment();
+            System.out.println("Could not prewarm browser session: " + e.getMessage());
+        } finally {
+            if (driver != null) {
+                ready.add(driver);
+            }
+            inFlight.decrementAndGet();
+        }
+        // Shut down while launching - nobody will take this one
+        if (closed && driver != null && ready.remove(driver)) {
+            quietQuit(driver);
+        }
+    }
+
+    private static void quietQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.out.println("Error closing driver: " + e.getMessage());
+        }
+    }
+
+    // Statistics
+    public int getQueueDepth() {
+        return ready.size();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getTakes() {
+        return takes.sum();
+    }
+
+    public long getWarmTakes() {
+        return warmTakes.sum();
+    }
+
+    public long getColdLaunches() {
+        return coldLaunches.sum();
+    }
+
+    public long getLaunchFailures() {
+        return launchFailures.sum();
+    }
+
+    public double getTotalWaitMillis() {
+        return waitNanosTotal.get() / 1_000_000.0;
+    }
+
+    public double getAverageWaitMillis() {
+        long count = getTakes();
+        return count == 0 ? 0.0 : getTotalWaitMillis() / count;
+    }
+
+    public double getMaxWaitMillis() {
+        return waitNanosMax.get() / 1_000_000.0;
+    }
+
+    public double getAverageLaunchMillis() {
+        long count = launched.sum();
+        return count == 0 ? 0.0 : launchNanosTotal.get() / 1_000_000.0 / count;
+    }
+
+    public String summary() {
+        return String.format("PrewarmedDriverFactory[depth=%d, ready=%d, inFlight=%d, takes=%d, warm=%d, cold=%d, "
+                        + "launchFailures=%d, avgWait=%.1fms, maxWait=%.1fms, totalWait=%.1fms, avgLaunch=%.1fms]",
+                depth, getQueueDepth(), getInFlight(), getTakes(), getWarmTakes(), getColdLaunches(),
+                getLaunchFailures(), getAverageWaitMillis(), getMaxWaitMillis(), getTotalWaitMillis(),
+                getAverageLaunchMillis());
+    }
+}
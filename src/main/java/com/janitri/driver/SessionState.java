@@ -0,0 +1,174 @@
+package com.janitri.driver;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Browser state of a warmed-up login page: cookies, localStorage, sessionStorage and the
+ * notification permission, as they were once the login form was ready.
+ *
+ * Restoring happens before the session navigates: cookies go in through DevTools
+ * {@code Network.setCookies}, and both storages are written by a script registered with
+ * {@code Page.addScriptToEvaluateOnNewDocument}, which runs before the page's own scripts.
+ * The script is removed again after the navigation so later reloads in the test are not
+ * affected.
+ */
+public final class SessionState {
+
+    private static final Json JSON = new Json();
+
+    private static final String READ_STORAGE_SCRIPT =
+            "function dump(storage) {" +
+            "  var out = {};" +
+            "  try { for (var i = 0; i < storage.length; i++) { var k = storage.key(i); out[k] = storage.getItem(k); } } catch (e) {}" +
+            "  return out;" +
+            "}" +
+            "return [dump(window.localStorage), dump(window.sessionStorage)];";
+
+    private final String origin;
+    private final List<Map<String, Object>> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final String notificationPermission;
+    private final long capturedAtMillis;
+
+    public SessionState(String origin, List<Map<String, Object>> cookies, Map<String, String> localStorage,
+                        Map<String, String> sessionStorage, String notificationPermission, long capturedAtMillis) {
+        this.origin = origin;
+        this.cookies = Collections.unmodifiableList(new ArrayList<>(cookies));
+        this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+        this.sessionStorage = Collections.unmodifiableMap(new LinkedHashMap<>(sessionStorage));
+        this.notificationPermission = notificationPermission;
+        this.capturedAtMillis = capturedAtMillis;
+    }
+
+    /**
+     * Reads the state of the page the driver is on. The caller makes sure the page is ready.
+     */
+    public static SessionState capture(WebDriver driver, String notificationPermission, long nowMillis) {
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            cookies.add(toCdpCookie(cookie));
+        }
+        Map<String, String> local = new LinkedHashMap<>();
+        Map<String, String> session = new LinkedHashMap<>();
+        Object result = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        if (result instanceof List && ((List<?>) result).size() == 2) {
+            copyStrings(((List<?>) result).get(0), local);
+            copyStrings(((List<?>) result).get(1), session);
+        }
+        return new SessionState(NotificationPermissions.targetOrigin(), cookies, local, session,
+                notificationPermission, nowMillis);
+    }
+
+    private static Map<String, Object> toCdpCookie(Cookie cookie) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("name", cookie.getName());
+        params.put("value", cookie.getValue());
+        if (cookie.getDomain() != null) {
+            params.put("domain", cookie.getDomain());
+        } else {
+            params.put("url", NotificationPermissions.targetOrigin());
+        }
+        params.put("path", cookie.getPath() == null ? "/" : cookie.getPath());
+        params.put("secure", cookie.isSecure());
+        params.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getSameSite() != null) {
+            params.put("sameSite", cookie.getSameSite());
+        }
+        if (cookie.getExpiry() != null) {
+            // DevTools takes seconds since the epoch
+            params.put("expires", cookie.getExpiry().getTime() / 1000.0);
+        }
+        return params;
+    }
+
+    private static void copyStrings(Object source, Map<String, String> target) {
+        if (source instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) source).entrySet()) {
+                target.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Loads the snapshot into the browser and navigates to {@code url}. Returns false and only
+     * navigates when the driver has no DevTools access, so nothing could be restored.
+     */
+    public boolean restoreAndNavigate(WebDriver driver, String url) {
+        if (!(driver instanceof HasCdp)) {
+            driver.get(url);
+            return false;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        // Context sessions got the permission for their own context when they were opened
+        if ("granted".equals(notificationPermission) && !BrowserContexts.isContextSession(driver)) {
+            NotificationPermissions.grant(driver);
+        }
+        if (!cookies.isEmpty()) {
+            cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", cookies));
+        }
+        Object identifier = null;
+        if (!localStorage.isEmpty() || !sessionStorage.isEmpty()) {
+            Map<String, Object> added = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", seedStorageScript()));
+            identifier = added == null ? null : added.get("identifier");
+        }
+        try {
+            driver.get(url);
+        } finally {
+            if (identifier != null) {
+                cdp.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", identifier));
+            }
+        }
+        return true;
+    }
+
+    // Only seeds documents of the captured origin, e.g. not an SSO redirect on the way
+    private String seedStorageScript() {
+        return "(function(origin, local, session) {" +
+                "  if (window.location.origin !== origin) return;" +
+                "  try { for (var k in local) window.localStorage.setItem(k, local[k]); } catch (e) {}" +
+                "  try { for (var k in session) window.sessionStorage.setItem(k, session[k]); } catch (e) {}" +
+                "})(" + JSON.toJson(origin) + ", " + JSON.toJson(localStorage) + ", " + JSON.toJson(sessionStorage) + ");";
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public List<Map<String, Object>> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    public String getNotificationPermission() {
+        return notificationPermission;
+    }
+
+    public long getCapturedAtMillis() {
+        return capturedAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SessionState[%s, cookies=%d, localStorage=%d, sessionStorage=%d, notifications=%s]",
+                origin, cookies.size(), localStorage.size(), sessionStorage.size(), notificationPermission);
+    }
+}
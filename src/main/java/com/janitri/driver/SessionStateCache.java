@@ -0,0 +1,158 @@
+package com.janitri.driver;
+
+import com.janitri.base.TestConfig;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds the one {@link SessionState} that new and reset sessions are loaded with.
+ *
+ * The first test that gets a ready login form stores its state; sessions created or reset
+ * after that restore it before navigating and should land on the ready form directly,
+ * without going through the notification gate. The snapshot expires after its TTL, and a
+ * restored page that is not ready invalidates it, so the next test warms up the normal way
+ * and captures a fresh one.
+ *
+ * Configure with {@code -Djanitri.sessionState.enabled} (default true) and
+ * {@code -Djanitri.sessionState.ttlSeconds} (default 900).
+ */
+public class SessionStateCache {
+
+    private static SessionStateCache shared;
+
+    private final Duration ttl;
+    private final LongSupplier clock;
+    private SessionState state;
+    // Sessions whose last navigation restored the snapshot, until the test checks them
+    private final Map<WebDriver, SessionState> restored = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final LongAdder captures = new LongAdder();
+    private final LongAdder restores = new LongAdder();
+    private final LongAdder readyAfterRestore = new LongAdder();
+    private final LongAdder readyCheckNanos = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public SessionStateCache(Duration ttl, LongSupplier clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("janitri.sessionState.enabled", true);
+    }
+
+    public static synchronized SessionStateCache shared() {
+        if (shared == null) {
+            shared = new SessionStateCache(Duration.ofSeconds(TestConfig.getLong("janitri.sessionState.ttlSeconds", 900)),
+                    System::currentTimeMillis);
+        }
+        return shared;
+    }
+
+    /**
+     * Navigates to {@code url}, restoring the current snapshot first if there is one.
+     */
+    public void navigate(WebDriver driver, String url) {
+        SessionState snapshot = isEnabled() ? current() : null;
+        if (snapshot == null) {
+            driver.get(url);
+            return;
+        }
+        try {
+            if (snapshot.restoreAndNavigate(driver, url)) {
+                restored.put(driver, snapshot);
+                restores.increment();
+            }
+        } catch (RuntimeException e) {
+            // DevTools refused part of the snapshot - load the page the normal way
+            System.out.println("Could not restore session state: " + e.getMessage());
+            invalidate(snapshot, "restore failed");
+            driver.get(url);
+        }
+    }
+
+    /**
+     * Snapshot that is still within its TTL, or null.
+     */
+    public synchronized SessionState current() {
+        if (state != null && clock.getAsLong() - state.getCapturedAtMillis() > ttl.toMillis()) {
+            System.out.println("Session state snapshot expired after " + ttl.getSeconds() + "s");
+            state = null;
+            expirations.increment();
+        }
+        return state;
+    }
+
+    /**
+     * Stores the snapshot unless another test stored one first. Returns true if it was stored.
+     */
+    public synchronized boolean offer(SessionState snapshot) {
+        if (current() != null) {
+            return false;
+        }
+        state = snapshot;
+        captures.increment();
+        System.out.println("Captured session state: " + snapshot);
+        return true;
+    }
+
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Returns the snapshot the session was loaded with by its last navigation, or null if it
+     * was loaded without one. Clears the mark.
+     */
+    public SessionState takeRestored(WebDriver driver) {
+        return restored.remove(driver);
+    }
+
+    // The session was restored from the snapshot and came up ready; nanos is the time the
+    // readiness check took, i.e. what the test paid instead of the warm-up
+    public void recordReady(long nanos) {
+        readyAfterRestore.increment();
+        readyCheckNanos.add(nanos);
+    }
+
+    /**
+     * Drops the snapshot if it is still the current one. A newer snapshot is kept.
+     */
+    public synchronized void invalidate(SessionState snapshot, String reason) {
+        if (state != null && state == snapshot) {
+            System.out.println("Session state snapshot invalidated: " + reason);
+            state = null;
+            invalidations.increment();
+        }
+    }
+
+    public long getCaptures() {
+        return captures.sum();
+    }
+
+    public long getRestores() {
+        return restores.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    public String summary() {
+        long ready = readyAfterRestore.sum();
+        return String.format("Session state: captured %d, restored %d (%d ready, avg check %.0f ms), invalidated %d, expired %d",
+                captures.sum(), restores.sum(), ready, ready == 0 ? 0.0 : readyCheckNanos.sum() / 1e6 / ready,
+                invalidations.sum(), expirations.sum());
+    }
+}
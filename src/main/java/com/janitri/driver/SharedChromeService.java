@@ -0,0 +1,179 @@
+package com.janitri.driver;
+
+import com.janitri.base.TestConfig;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.service.DriverFinder;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One chromedriver process per JVM, serving every Chrome session.
+ *
+ * {@code new ChromeDriver(options)} resolves the driver through Selenium Manager and spawns
+ * a chromedriver process per session, and quitting the session stops it again. Here the
+ * driver path comes from {@link DriverBinaryCache} (Selenium Manager only runs on a miss),
+ * the process is started once, and quitting a session leaves it running for the next one.
+ */
+public final class SharedChromeService {
+
+    /**
+     * Service whose process survives the sessions that use it.
+     */
+    private static final class LongLivedService extends ChromeDriverService {
+        LongLivedService(File executable, int port, Duration timeout, List<String> args,
+                         Map<String, String> environment) throws IOException {
+            super(executable, port, timeout, args, environment);
+        }
+
+        @Override
+        public void stop() {
+            // Called by every ChromeDriver.quit() - the process is stopped in shutdown() instead
+        }
+
+        void shutdown() {
+            super.stop();
+        }
+    }
+
+    private static final class LongLivedServiceBuilder extends ChromeDriverService.Builder {
+        @Override
+        protected ChromeDriverService createDriverService(File executable, int port, Duration timeout,
+                                                          List<String> args, Map<String, String> environment) {
+            try {
+                return new LongLivedService(executable, port, timeout, args, environment);
+            } catch (IOException e) {
+                throw new WebDriverException(e);
+            }
+        }
+    }
+
+    private static LongLivedService service;
+    private static String channel;
+    private static String driverPath;
+    private static String browserPath;
+    private static boolean fromCache;
+    private static boolean recorded;
+    private static boolean hookInstalled;
+
+    private SharedChromeService() {
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("janitri.driverService.shared", true);
+    }
+
+    /**
+     * New Chrome session on the shared service. A cached driver that no longer matches the
+     * installed Chrome is dropped and resolved again once.
+     */
+    public static ChromeDriver newSession(ChromeOptions options) {
+        LongLivedService current = serviceFor(options);
+        try {
+            return started(options, current);
+        } catch (SessionNotCreatedException e) {
+            if (!discardStaleCache(current)) {
+                throw e;
+            }
+            System.out.println("Cached chromedriver could not start a session, resolving it again: " + e.getMessage());
+            return started(options, serviceFor(options));
+        }
+    }
+
+    /**
+     * The shared service itself, for sessions that attach to an already running Chrome.
+     */
+    public static ChromeDriverService service(ChromeOptions options) {
+        return serviceFor(options);
+    }
+
+    public static synchronized void shutdown() {
+        if (service != null) {
+            service.shutdown();
+            System.out.println("Shared chromedriver stopped");
+            service = null;
+        }
+    }
+
+    private static ChromeDriver started(ChromeOptions options, LongLivedService current) {
+        String binary = browserPathOf(current);
+        if (binary != null) {
+            options.setBinary(binary);
+        }
+        ChromeDriver driver = new ChromeDriver(current, options);
+        record(current, driver);
+        return driver;
+    }
+
+    private static synchronized LongLivedService serviceFor(ChromeOptions options) {
+        if (service != null) {
+            return service;
+        }
+        channel = options.getBrowserVersion() == null || options.getBrowserVersion().isEmpty()
+                ? "default" : options.getBrowserVersion();
+        DriverBinaryCache.Entry cached = DriverBinaryCache.shared().lookup(channel);
+        fromCache = cached != null;
+        recorded = fromCache;
+        if (fromCache) {
+            driverPath = cached.getDriverPath();
+            browserPath = cached.getBrowserPath();
+            System.out.println("Using cached chromedriver for " + cached);
+        } else {
+            long start = System.nanoTime();
+            DriverFinder finder = new DriverFinder(ChromeDriverService.createDefaultService(), options);
+            driverPath = finder.getDriverPath();
+            browserPath = finder.hasBrowserPath() ? finder.getBrowserPath() : null;
+            System.out.println("Selenium Manager resolved chromedriver in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms: " + driverPath);
+        }
+        service = (LongLivedService) new LongLivedServiceBuilder()
+                .usingDriverExecutable(new File(driverPath))
+                .usingAnyFreePort()
+                .build();
+        if (!hookInstalled) {
+            // The chromedriver process must not outlive the JVM
+            Runtime.getRuntime().addShutdownHook(new Thread(SharedChromeService::shutdown, "shared-chromedriver-stop"));
+            hookInstalled = true;
+        }
+        return service;
+    }
+
+    private static synchronized String browserPathOf(LongLivedService current) {
+        return current == service ? browserPath : null;
+    }
+
+    // Stores the binaries under the version of the browser that actually started
+    private static synchronized void record(LongLivedService current, ChromeDriver driver) {
+        if (recorded || current != service) {
+            return;
+        }
+        String version = ((HasCapabilities) driver).getCapabilities().getBrowserVersion();
+        if (version != null && !version.isEmpty()) {
+            DriverBinaryCache.shared().store(channel, version, driverPath, browserPath);
+            recorded = true;
+        }
+    }
+
+    // True if the failed service came from the cache and has now been replaced
+    private static synchronized boolean discardStaleCache(LongLivedService failed) {
+        if (failed != service) {
+            // Another thread already replaced it
+            return true;
+        }
+        if (!fromCache) {
+            return false;
+        }
+        DriverBinaryCache.shared().invalidate(channel);
+        service.shutdown();
+        service = null;
+        return true;
+    }
+}
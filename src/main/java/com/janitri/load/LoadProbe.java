@@ -0,0 +1,304 @@
+package com.janitri.load;
+
+import com.janitri.base.TestConfig;
+import com.janitri.locators.ElementCache;
+import com.janitri.metrics.CommandLatency;
+import com.janitri.metrics.LatencyHistogram;
+import com.janitri.network.LoginExchange;
+import com.janitri.pages.LoginPage;
+import com.janitri.pages.PageState;
+import com.janitri.pages.PageStateProbe;
+import com.janitri.waits.WaitBudget;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives the login form from several browser sessions at once and reports how it holds up.
+ *
+ * Each session loops, alternating an invalid-email login and a valid-credentials login,
+ * until the configured duration has passed or it has run its iteration count. Every
+ * iteration starts from a fresh login page. The report shows throughput plus
+ * percentiles for the time from starting the login to the error message appearing and to
+ * the redirect away from the login page.
+ *
+ * Sessions run on a fixed pool of platform threads, one per browser session.
+ */
+public class LoadProbe {
+
+    /**
+     * How the probe gets a login page for the calling thread and hands it back.
+     */
+    public interface SessionHooks {
+        // Leaves a session sitting on the login page for the calling thread
+        void open();
+
+        WebDriver driver();
+
+        void close();
+    }
+
+    enum Scenario {
+        INVALID_EMAIL("invalidEmail"),
+        VALID_LOGIN("validLogin");
+
+        private final String label;
+
+        Scenario(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final String INVALID_EMAIL = "invalid@example.com";
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+
+    private final int sessions;
+    private final Duration duration;
+    private final int iterationsPerSession;
+    private final Duration outcomeTimeout;
+    // Pause between page state probes while waiting for the outcome of a login
+    private final Duration pollInterval = Duration.ofMillis(TestConfig.getLong("janitri.load.pollMillis", 100));
+    private final String email;
+    private final String password;
+
+    private final LatencyHistogram loginCall = new LatencyHistogram();
+    private final LatencyHistogram timeToErrorMessage = new LatencyHistogram();
+    private final LatencyHistogram timeToRedirect = new LatencyHistogram();
+    // From the captured login response: server time, and response arrival until the page showed it
+    private final LatencyHistogram loginServer = new LatencyHistogram();
+    private final LatencyHistogram loginRender = new LatencyHistogram();
+    private final LatencyHistogram iteration = new LatencyHistogram();
+    // scenario -> outcome state -> count
+    private final Map<Scenario, Map<PageState, AtomicLong>> outcomes = new EnumMap<>(Scenario.class);
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long elapsedNanos;
+
+    /**
+     * @param iterationsPerSession iterations each session runs; 0 runs for {@code duration} instead
+     */
+    public LoadProbe(int sessions, Duration duration, int iterationsPerSession, Duration outcomeTimeout,
+                     String email, String password) {
+        if (sessions < 1) {
+            throw new IllegalArgumentException("sessions must be at least 1");
+        }
+        this.sessions = sessions;
+        this.duration = duration;
+        this.iterationsPerSession = iterationsPerSession;
+        this.outcomeTimeout = outcomeTimeout;
+        this.email = email;
+        this.password = password;
+        for (Scenario scenario : Scenario.values()) {
+            Map<PageState, AtomicLong> counts = new EnumMap<>(PageState.class);
+            for (PageState state : PageState.values()) {
+                counts.put(state, new AtomicLong());
+            }
+            outcomes.put(scenario, counts);
+        }
+    }
+
+    public static LoadProbe fromConfig() {
+        return new LoadProbe(
+                TestConfig.getInt("janitri.load.sessions", 4),
+                Duration.ofSeconds(TestConfig.getLong("janitri.load.durationSeconds", 60)),
+                TestConfig.getInt("janitri.load.iterations", 0),
+                Duration.ofSeconds(TestConfig.getLong("janitri.load.outcomeTimeoutSeconds", 10)),
+                TestConfig.get("janitri.load.email", "test@janitri.com"),
+                TestConfig.get("janitri.load.password", "testpassword123"));
+    }
+
+    public int getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Runs all sessions to completion. Iteration failures are counted, not thrown.
+     */
+    public void run(SessionHooks hooks) {
+        System.out.println("Load probe: " + sessions + " session(s), "
+                + (iterationsPerSession > 0 ? iterationsPerSession + " iteration(s) each" : duration.getSeconds() + " s"));
+        ExecutorService executor = Executors.newFixedThreadPool(sessions, namedThreads());
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                workers.add(executor.submit(() -> runSession(hooks, deadline)));
+            }
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    System.out.println("Load probe session stopped: " + e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            elapsedNanos = System.nanoTime() - start;
+        }
+    }
+
+    private void runSession(SessionHooks hooks, long deadline) {
+        int consecutiveFailures = 0;
+        for (int i = 0; iterationsPerSession > 0 ? i < iterationsPerSession : System.nanoTime() < deadline; i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            consecutiveFailures = runIteration(hooks, i % 2 == 0 ? Scenario.INVALID_EMAIL : Scenario.VALID_LOGIN)
+                    ? 0 : consecutiveFailures + 1;
+            // A session that cannot even start (e.g. no browser) would otherwise spin until the deadline
+            if (consecutiveFailures >= MAX_CONSECUTIVE_FAILURES) {
+                System.out.println(Thread.currentThread().getName() + " giving up after "
+                        + consecutiveFailures + " failed iterations in a row");
+                return;
+            }
+        }
+    }
+
+    private boolean runIteration(SessionHooks hooks, Scenario scenario) {
+        String name = "LoadProbe." + scenario.label;
+        long start = System.nanoTime();
+        CommandLatency.shared().startTest(name);
+        WaitBudget.begin(name);
+        try {
+            hooks.open();
+            LoginPage page = new LoginPage(hooks.driver());
+            page.waitForPageLoad();
+
+            long loginStart = System.nanoTime();
+            if (scenario == Scenario.INVALID_EMAIL) {
+                page.loginWithInvalidEmail(INVALID_EMAIL, password);
+            } else {
+                page.loginWithValidCredentials(email, password);
+            }
+            loginCall.recordNanos(System.nanoTime() - loginStart);
+
+            PageState outcome = awaitOutcome(hooks.driver());
+            long sinceLogin = System.nanoTime() - loginStart;
+            recordResponse(page.getLoginResponse(), outcome);
+            outcomes.get(scenario).get(outcome).incrementAndGet();
+            if (outcome == PageState.AUTH_ERROR || outcome == PageState.VALIDATION_ERROR) {
+                timeToErrorMessage.recordNanos(sinceLogin);
+            } else if (outcome == PageState.NAVIGATED_AWAY) {
+                timeToRedirect.recordNanos(sinceLogin);
+            }
+            completed.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            errors.computeIfAbsent(e.getClass().getSimpleName(), k -> new AtomicLong()).incrementAndGet();
+            return false;
+        } finally {
+            try {
+                hooks.close();
+            } catch (Exception e) {
+                System.out.println("Could not return load probe session: " + e.getMessage());
+            }
+            WaitBudget.end();
+            iteration.recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    private void recordResponse(LoginExchange response, PageState outcome) {
+        if (response == null) {
+            return;
+        }
+        if (response.getServerMillis() >= 0) {
+            loginServer.recordNanos((long) (response.getServerMillis() * 1_000_000));
+        }
+        if (outcome == PageState.AUTH_ERROR || outcome == PageState.VALIDATION_ERROR
+                || outcome == PageState.NAVIGATED_AWAY) {
+            response.recordRendered();
+            loginRender.recordNanos((long) (response.getRenderMillis() * 1_000_000));
+        }
+    }
+
+    // First state that ends a login attempt, or the last state seen when the timeout passes.
+    // Probes at a fixed interval so the probe itself does not add load to the browser; the
+    // reported times are therefore accurate to about one interval
+    private PageState awaitOutcome(WebDriver driver) {
+        PageStateProbe probe = new PageStateProbe(driver);
+        long start = System.nanoTime();
+        long deadline = start + WaitBudget.current().grant("loginOutcome", outcomeTimeout).toNanos();
+        PageState state = PageState.UNKNOWN;
+        try {
+            while (System.nanoTime() < deadline) {
+                state = probe.snapshot().getState();
+                if (state == PageState.AUTH_ERROR || state == PageState.VALIDATION_ERROR
+                        || state == PageState.NAVIGATED_AWAY) {
+                    break;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                Thread.sleep(Math.min(pollInterval.toMillis(), remaining / 1_000_000 + 1));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            WaitBudget.current().charge("loginOutcome", (System.nanoTime() - start) / 1_000_000);
+        }
+        return state;
+    }
+
+    public String summary() {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Load probe ===\n");
+        sb.append(String.format("sessions %d, elapsed %.1f s, iterations %d ok / %d failed, throughput %.2f logins/s%n",
+                sessions, seconds, completed.get(), failed.get(), seconds > 0 ? completed.get() / seconds : 0.0));
+        sb.append(String.format("%-20s %7s %9s %9s %9s %9s%n", "metric", "count", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        appendRow(sb, "loginCall", loginCall);
+        appendRow(sb, "timeToErrorMessage", timeToErrorMessage);
+        appendRow(sb, "timeToRedirect", timeToRedirect);
+        appendRow(sb, "loginServer", loginServer);
+        appendRow(sb, "loginRender", loginRender);
+        appendRow(sb, "iteration", iteration);
+        for (Map.Entry<Scenario, Map<PageState, AtomicLong>> entry : outcomes.entrySet()) {
+            StringBuilder states = new StringBuilder();
+            for (Map.Entry<PageState, AtomicLong> count : entry.getValue().entrySet()) {
+                if (count.getValue().get() > 0) {
+                    states.append(' ').append(count.getKey()).append('=').append(count.getValue().get());
+                }
+            }
+            sb.append("outcomes ").append(entry.getKey().label).append(':')
+                    .append(states.length() == 0 ? " none" : states).append('\n');
+        }
+        sb.append(ElementCache.summary()).append('\n');
+        if (!errors.isEmpty()) {
+            sb.append("errors: ").append(errors).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void appendRow(StringBuilder sb, String name, LatencyHistogram histogram) {
+        sb.append(String.format("%-20s %7d %9.1f %9.1f %9.1f %9.1f%n", name, histogram.getCount(),
+                histogram.percentileMillis(50), histogram.percentileMillis(95), histogram.percentileMillis(99),
+                histogram.getMaxMillis()));
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "load-probe-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
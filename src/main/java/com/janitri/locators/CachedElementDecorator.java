@@ -0,0 +1,91 @@
+package com.janitri.locators;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * PageFactory decorator whose {@code WebElement} fields go through an {@link ElementCache}.
+ *
+ * The field proxy hands every call to the cached handle. If the call fails because the
+ * handle went stale, the element is looked up again with the field's locator and the call
+ * is retried once. Fields with the same locator share one handle. List fields are left to
+ * the default decorator.
+ */
+public class CachedElementDecorator implements FieldDecorator {
+
+    private final ElementLocatorFactory factory;
+    private final ElementCache cache;
+    private final FieldDecorator fallback;
+
+    public CachedElementDecorator(ElementLocatorFactory factory, ElementCache cache) {
+        this.factory = factory;
+        this.cache = cache;
+        this.fallback = new DefaultFieldDecorator(factory);
+    }
+
+    @Override
+    public Object decorate(ClassLoader loader, Field field) {
+        if (!WebElement.class.equals(field.getType())) {
+            return fallback.decorate(loader, field);
+        }
+        ElementLocator locator = factory.createLocator(field);
+        if (locator == null) {
+            return null;
+        }
+        By by = new Annotations(field).buildBy();
+        return Proxy.newProxyInstance(loader, new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new CachedElementHandler(cache, by, locator));
+    }
+
+    static class CachedElementHandler implements InvocationHandler {
+        private final ElementCache cache;
+        private final By by;
+        private final ElementLocator locator;
+
+        CachedElementHandler(ElementCache cache, By by, ElementLocator locator) {
+            this.cache = cache;
+            this.by = by;
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+                return "Cached element for: " + by;
+            }
+            WebElement element = cache.get(by, locator);
+            if ("getWrappedElement".equals(method.getName())) {
+                // Passed to scripts as is; a stale handle surfaces as the script's error
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+            }
+            // DOM node was replaced since the handle was cached
+            WebElement fresh = cache.refresh(by, locator);
+            try {
+                return method.invoke(fresh, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
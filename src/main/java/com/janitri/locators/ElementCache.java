@@ -0,0 +1,126 @@
+package com.janitri.locators;
+
+import com.janitri.base.TestConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolved element handles of one page object, keyed by locator.
+ *
+ * A handle is looked up once and then reused, so a field access costs only the command it
+ * was made for instead of a {@code findElement} first. Staleness is not checked up front: a
+ * handle whose DOM node was replaced fails its next command with a stale element reference,
+ * and only then is it looked up again ({@link #refresh}). Page objects live on one test
+ * thread, so the map is not synchronized; the counters are also kept for the whole run.
+ *
+ * Enabled by default, {@code -Djanitri.elementCache.enabled=false} turns it off: handles are
+ * then not retained and every access looks the element up, like a plain PageFactory field.
+ */
+public class ElementCache {
+
+    private static final LongAdder totalHits = new LongAdder();
+    private static final LongAdder totalMisses = new LongAdder();
+    private static final LongAdder totalStale = new LongAdder();
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private final boolean retain;
+    private long hits;
+    private long misses;
+    private long staleRefreshes;
+
+    public ElementCache() {
+        this(true);
+    }
+
+    public ElementCache(boolean retain) {
+        this.retain = retain;
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("janitri.elementCache.enabled", true);
+    }
+
+    /**
+     * Cached handle for {@code by}, resolved through {@code locator} on first use.
+     */
+    public WebElement get(By by, ElementLocator locator) {
+        WebElement element = elements.get(by);
+        if (element != null) {
+            hits++;
+            totalHits.increment();
+            return element;
+        }
+        return resolve(by, locator);
+    }
+
+    /**
+     * Looks {@code by} up again after its cached handle went stale. The lookup that returned
+     * the stale handle is counted as a miss, not a hit.
+     */
+    public WebElement refresh(By by, ElementLocator locator) {
+        if (elements.remove(by) != null) {
+            hits--;
+            totalHits.decrement();
+        }
+        staleRefreshes++;
+        totalStale.increment();
+        return resolve(by, locator);
+    }
+
+    private WebElement resolve(By by, ElementLocator locator) {
+        misses++;
+        totalMisses.increment();
+        WebElement element = locator.findElement();
+        if (retain) {
+            elements.put(by, element);
+        }
+        return element;
+    }
+
+    /**
+     * Stores a handle found by other means, e.g. by a readiness wait that already returned it.
+     */
+    public void put(By by, WebElement element) {
+        if (retain && element != null) {
+            elements.put(by, element);
+        }
+    }
+
+    // The document was replaced (navigation, reload) - every handle is stale
+    public void invalidateAll() {
+        elements.clear();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getStaleRefreshes() {
+        return staleRefreshes;
+    }
+
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Hit rate over all page objects of the run.
+     */
+    public static String summary() {
+        long hitCount = totalHits.sum();
+        long missCount = totalMisses.sum();
+        long lookups = hitCount + missCount;
+        return String.format("Element cache: %d lookup(s), %d hit(s) (%.0f%%), %d find(s) of which %d after a stale handle",
+                lookups, hitCount, lookups == 0 ? 0.0 : 100.0 * hitCount / lookups, missCount, totalStale.sum());
+    }
+}
@@ -0,0 +1,185 @@
+package com.janitri.locators;
+
+import com.janitri.waits.WaitBudget;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves a list of fallback XPath candidates in a single in-browser script per poll.
+ *
+ * Instead of giving every candidate its own WebDriverWait, all candidates are evaluated
+ * together and the first one (in list order) with a visible match wins. The whole list
+ * is bounded by one timeout, so a page without any match costs one timeout, not one per
+ * selector.
+ *
+ * Each list is identified by a logical element key. Candidates are tried in the order
+ * suggested by the {@link SelectorRankingStore}, and the candidate that matched is recorded
+ * so it moves to the front next time.
+ */
+public class MultiSelectorResolver {
+
+    public enum Condition {
+        // Element is rendered and visible
+        VISIBLE,
+        // Element is visible and not disabled, same as ExpectedConditions.elementToBeClickable
+        CLICKABLE
+    }
+
+    /**
+     * A resolved element together with the candidate that matched it.
+     */
+    public static final class Match {
+        private final WebElement element;
+        private final int index;
+        private final String selector;
+        private final String text;
+
+        Match(WebElement element, int index, String selector, String text) {
+            this.element = element;
+            this.index = index;
+            this.selector = selector;
+            this.text = text;
+        }
+
+        public WebElement getElement() {
+            return element;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getSelector() {
+            return selector;
+        }
+
+        // Visible text of the element, captured in the same round trip
+        public String getText() {
+            return text;
+        }
+    }
+
+    private static final long POLL_INTERVAL_MILLIS = 250;
+
+    // Candidate that matched per element key, for the test running on this thread
+    private static final ThreadLocal<Map<String, String>> MATCHED = ThreadLocal.withInitial(LinkedHashMap::new);
+
+    private static final String RESOLVE_SCRIPT =
+            "var xpaths = arguments[0], needEnabled = arguments[1];" +
+            "function visible(el) {" +
+            "  var style = window.getComputedStyle(el);" +
+            "  if (style.display === 'none' || style.visibility === 'hidden' || style.opacity === '0') return false;" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  return rect.width > 0 || rect.height > 0;" +
+            "}" +
+            "for (var i = 0; i < xpaths.length; i++) {" +
+            "  var result;" +
+            "  try {" +
+            "    result = document.evaluate(xpaths[i], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "  } catch (e) { continue; }" +
+            "  for (var j = 0; j < result.snapshotLength; j++) {" +
+            "    var el = result.snapshotItem(j);" +
+            "    if (el.nodeType !== 1 || !visible(el)) continue;" +
+            "    if (needEnabled && el.disabled) continue;" +
+            "    return [el, i, (el.innerText || el.textContent || '').trim()];" +
+            "  }" +
+            "}" +
+            "return null;";
+
+    private final WebDriver driver;
+    private final SelectorRankingStore ranking;
+
+    public MultiSelectorResolver(WebDriver driver) {
+        this(driver, SelectorRankingStore.shared());
+    }
+
+    public MultiSelectorResolver(WebDriver driver, SelectorRankingStore ranking) {
+        this.driver = driver;
+        this.ranking = ranking;
+    }
+
+    /**
+     * Polls until one of the candidates matches or the timeout expires.
+     *
+     * @param key logical element the candidates describe, used for ranking
+     * @return the best ranked match, or null if nothing matched in time. The match index
+     *         refers to the position in {@code xpaths} as passed in.
+     */
+    public Match resolve(String key, List<String> xpaths, Condition condition, Duration timeout) {
+        // The timeout is drawn from the wait budget of the current test
+        return WaitBudget.current().run("resolve(" + key + ")", timeout,
+                granted -> poll(key, xpaths, condition, granted));
+    }
+
+    private Match poll(String key, List<String> xpaths, Condition condition, Duration timeout) {
+        List<String> ordered = ranking.order(key, xpaths);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            Match match = evaluate(ordered, condition);
+            if (match != null) {
+                return recordMatch(key, xpaths, match);
+            }
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                return null;
+            }
+            try {
+                Thread.sleep(Math.min(POLL_INTERVAL_MILLIS, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Evaluates all candidates once, without waiting.
+     */
+    public Match findNow(String key, List<String> xpaths, Condition condition) {
+        Match match = evaluate(ranking.order(key, xpaths), condition);
+        return match == null ? null : recordMatch(key, xpaths, match);
+    }
+
+    /**
+     * Returns the selector that matched for each element key on the calling thread since the
+     * last call, and starts a new record.
+     */
+    public static Map<String, String> takeMatchedSelectors() {
+        Map<String, String> matched = MATCHED.get();
+        MATCHED.remove();
+        return matched;
+    }
+
+    private Match recordMatch(String key, List<String> xpaths, Match match) {
+        ranking.recordSuccess(key, match.getSelector());
+        MATCHED.get().put(key, match.getSelector());
+        return new Match(match.getElement(), xpaths.indexOf(match.getSelector()), match.getSelector(), match.getText());
+    }
+
+    private Match evaluate(List<String> xpaths, Condition condition) {
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeScript(RESOLVE_SCRIPT, xpaths,
+                    condition == Condition.CLICKABLE);
+        } catch (NoSuchSessionException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // Page was navigating or the script was interrupted - treat as no match for this poll
+            return null;
+        }
+        if (!(result instanceof List)) {
+            return null;
+        }
+        List<?> values = (List<?>) result;
+        int index = ((Number) values.get(1)).intValue();
+        return new Match((WebElement) values.get(0), index, xpaths.get(index), String.valueOf(values.get(2)));
+    }
+}
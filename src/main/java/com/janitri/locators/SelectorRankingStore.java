@@ -0,0 +1,181 @@
+package com.janitri.locators;
+
+import com.janitri.base.TestConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers which candidate of a fallback locator list worked for each logical element
+ * (e.g. "notification.allow") so it can be tried first next time.
+ *
+ * Every success adds one point to the candidate's score. Scores decay exponentially with
+ * the configured half-life, so a selector that stopped matching after a UI change loses its
+ * place again, and entries that decayed to almost nothing are dropped. The store is kept in
+ * a small properties file so the ranking survives between runs.
+ */
+public class SelectorRankingStore {
+
+    // Decayed scores below this are forgotten
+    private static final double MIN_SCORE = 0.05;
+
+    private static final class Entry {
+        double score;
+        long lastSuccessMillis;
+
+        Entry(double score, long lastSuccessMillis) {
+            this.score = score;
+            this.lastSuccessMillis = lastSuccessMillis;
+        }
+    }
+
+    private static SelectorRankingStore shared;
+
+    private final Path file;
+    private final long halfLifeMillis;
+    private final LongSupplier clock;
+    // logical element -> selector -> entry
+    private final Map<String, Map<String, Entry>> rankings = new HashMap<>();
+    private boolean dirty;
+
+    public SelectorRankingStore(Path file, Duration halfLife, LongSupplier clock) {
+        this.file = file;
+        this.halfLifeMillis = Math.max(1, halfLife.toMillis());
+        this.clock = clock;
+        load();
+    }
+
+    /**
+     * JVM-wide store, saved automatically when the JVM exits.
+     */
+    public static synchronized SelectorRankingStore shared() {
+        if (shared == null) {
+            Path file = Paths.get(TestConfig.get("janitri.ranking.file", ".janitri/selector-ranking.properties"));
+            Duration halfLife = Duration.ofHours(TestConfig.getLong("janitri.ranking.halfLifeHours", 72));
+            shared = new SelectorRankingStore(file, halfLife, System::currentTimeMillis);
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::save, "selector-ranking-save"));
+        }
+        return shared;
+    }
+
+    /**
+     * Returns the candidates with previously successful selectors first, best score first.
+     * Candidates without history keep their original relative order.
+     */
+    public synchronized List<String> order(String key, List<String> candidates) {
+        Map<String, Entry> entries = rankings.get(key);
+        if (entries == null || entries.isEmpty()) {
+            return candidates;
+        }
+        long now = clock.getAsLong();
+        Map<String, Double> scores = new HashMap<>();
+        for (String candidate : candidates) {
+            Entry entry = entries.get(candidate);
+            scores.put(candidate, entry == null ? 0.0 : decayed(entry, now));
+        }
+        List<String> ordered = new ArrayList<>(candidates);
+        // List.sort is stable, so ties keep the order the page object declared
+        ordered.sort(Comparator.comparingDouble((String candidate) -> scores.get(candidate)).reversed());
+        return ordered;
+    }
+
+    public synchronized void recordSuccess(String key, String selector) {
+        long now = clock.getAsLong();
+        Entry entry = rankings.computeIfAbsent(key, k -> new HashMap<>()).get(selector);
+        if (entry == null) {
+            rankings.get(key).put(selector, new Entry(1.0, now));
+        } else {
+            entry.score = decayed(entry, now) + 1.0;
+            entry.lastSuccessMillis = now;
+        }
+        dirty = true;
+    }
+
+    public synchronized double score(String key, String selector) {
+        Map<String, Entry> entries = rankings.get(key);
+        Entry entry = entries == null ? null : entries.get(selector);
+        return entry == null ? 0.0 : decayed(entry, clock.getAsLong());
+    }
+
+    /**
+     * Writes the store to disk if anything changed, dropping fully decayed entries.
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        long now = clock.getAsLong();
+        Properties properties = new Properties();
+        for (Map.Entry<String, Map<String, Entry>> element : rankings.entrySet()) {
+            for (Map.Entry<String, Entry> candidate : element.getValue().entrySet()) {
+                Entry entry = candidate.getValue();
+                double score = decayed(entry, now);
+                if (score >= MIN_SCORE) {
+                    // Store the score as of its last success so decay keeps working after reload
+                    properties.setProperty(element.getKey() + "|" + candidate.getKey(),
+                            entry.score + "," + entry.lastSuccessMillis);
+                }
+            }
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "selector-ranking", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Selector ranking - generated, safe to delete");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            System.out.println("Could not save selector ranking to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.out.println("Could not read selector ranking from " + file + ": " + e.getMessage());
+            return;
+        }
+        long now = clock.getAsLong();
+        for (String name : properties.stringPropertyNames()) {
+            int separator = name.indexOf('|');
+            String[] value = properties.getProperty(name).split(",");
+            if (separator < 0 || value.length != 2) {
+                continue;
+            }
+            try {
+                Entry entry = new Entry(Double.parseDouble(value[0]), Long.parseLong(value[1]));
+                if (decayed(entry, now) >= MIN_SCORE) {
+                    rankings.computeIfAbsent(name.substring(0, separator), k -> new HashMap<>())
+                            .put(name.substring(separator + 1), entry);
+                }
+            } catch (NumberFormatException e) {
+                // Skip corrupt line
+            }
+        }
+    }
+
+    private double decayed(Entry entry, long now) {
+        long age = Math.max(0, now - entry.lastSuccessMillis);
+        return entry.score * Math.pow(0.5, (double) age / halfLifeMillis);
+    }
+}
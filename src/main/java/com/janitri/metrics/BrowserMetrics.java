@@ -0,0 +1,67 @@
+package com.janitri.metrics;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Browser-side measurements used when comparing execution profiles.
+ */
+public final class BrowserMetrics {
+
+    private static final String PAGE_LOAD_SCRIPT =
+            "var nav = performance.getEntriesByType('navigation')[0];" +
+            "if (!nav || !nav.loadEventEnd) return -1;" +
+            "return nav.loadEventEnd - nav.startTime;";
+
+    private BrowserMetrics() {
+    }
+
+    /**
+     * Time from navigation start to the end of the load event of the current document,
+     * in milliseconds, or -1 if the page has not finished loading.
+     */
+    public static double pageLoadMillis(WebDriver driver) {
+        Object value = ((JavascriptExecutor) driver).executeScript(PAGE_LOAD_SCRIPT);
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+
+    /**
+     * Total resident set size, in KB, of all Chrome processes started by this JVM
+     * (via chromedriver). Only available on Linux; returns -1 elsewhere.
+     */
+    public static long chromeRssKb() {
+        if (!Files.isDirectory(Paths.get("/proc/self"))) {
+            return -1;
+        }
+        return ProcessHandle.current().descendants()
+                .filter(process -> process.info().command().map(BrowserMetrics::isChrome).orElse(false))
+                .mapToLong(process -> rssKb(process.pid()))
+                .sum();
+    }
+
+    private static boolean isChrome(String command) {
+        String name = Paths.get(command).getFileName().toString().toLowerCase();
+        return (name.startsWith("chrome") && !name.startsWith("chromedriver")) || name.startsWith("chromium");
+    }
+
+    private static long rssKb(long pid) {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        try {
+            List<String> lines = Files.readAllLines(status);
+            for (String line : lines) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Process exited while we were reading it
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,214 @@
+package com.janitri.metrics;
+
+import com.janitri.base.TestConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-command, per-locator, per-wait and per-test WebDriver latency.
+ *
+ * Sessions are wrapped with {@link EventFiringDecorator} and a {@link CommandLatencyListener};
+ * every sampled call lands in a {@link LatencyHistogram}. The time each test spent inside
+ * WebDriver calls is summed per test (scaled up by the sample rate). A table with
+ * p50/p95/p99/max is printed at suite end and can be exported as JSON.
+ *
+ * {@code -Djanitri.latency.sampleRate} (0.0-1.0, default 1.0) controls the fraction of calls
+ * timed; 0 leaves drivers undecorated. {@code -Djanitri.latency.export=<file>} writes the JSON.
+ */
+public final class CommandLatency {
+
+    private static final CommandLatency SHARED = new CommandLatency();
+    // Rows per section in the printed summary, the export contains everything
+    private static final int SUMMARY_ROWS = 15;
+
+    private static final class TestTimer {
+        final String name;
+        double nanos;
+
+        TestTimer(String name) {
+            this.name = name;
+        }
+    }
+
+    private final Map<String, LatencyHistogram> commands = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> locators = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> waits = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> tests = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<TestTimer> currentTest = new ThreadLocal<>();
+
+    public static CommandLatency shared() {
+        return SHARED;
+    }
+
+    public static double sampleRate() {
+        return Math.max(0.0, Math.min(1.0, TestConfig.getDouble("janitri.latency.sampleRate", 1.0)));
+    }
+
+    /**
+     * Wraps the driver so its calls are timed, or returns it unchanged when sampling is off.
+     * The returned proxy implements the same interfaces as the original driver.
+     */
+    public static WebDriver instrument(WebDriver driver) {
+        double rate = sampleRate();
+        if (rate <= 0.0) {
+            return driver;
+        }
+        return new EventFiringDecorator<WebDriver>(new CommandLatencyListener(SHARED, rate)).decorate(driver);
+    }
+
+    void recordCommand(String command, long nanos, double sampleRate) {
+        histogram(commands, command).recordNanos(nanos);
+        TestTimer timer = currentTest.get();
+        if (timer != null) {
+            timer.nanos += nanos / sampleRate;
+        }
+    }
+
+    void recordLocator(By locator, long nanos) {
+        histogram(locators, locator.toString()).recordNanos(nanos);
+    }
+
+    public void recordWait(String name, long millis) {
+        histogram(waits, name).recordMicros(millis * 1000);
+    }
+
+    // Per-test accounting of the calling thread
+    public void startTest(String name) {
+        currentTest.set(new TestTimer(name));
+    }
+
+    public void finishTest() {
+        TestTimer timer = currentTest.get();
+        currentTest.remove();
+        if (timer != null) {
+            histogram(tests, timer.name).recordNanos((long) timer.nanos);
+        }
+    }
+
+    public boolean isEmpty() {
+        return commands.isEmpty() && waits.isEmpty();
+    }
+
+    public void reset() {
+        commands.clear();
+        locators.clear();
+        waits.clear();
+        tests.clear();
+    }
+
+    public Map<String, LatencyHistogram> getCommands() {
+        return commands;
+    }
+
+    public Map<String, LatencyHistogram> getLocators() {
+        return locators;
+    }
+
+    public Map<String, LatencyHistogram> getWaits() {
+        return waits;
+    }
+
+    public Map<String, LatencyHistogram> getTests() {
+        return tests;
+    }
+
+    public String summary() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("WebDriver latency (sample rate %.0f%%, ms)%n", sampleRate() * 100));
+        appendSection(out, "command", commands);
+        appendSection(out, "locator", locators);
+        appendSection(out, "wait", waits);
+        appendSection(out, "test (time in WebDriver calls)", tests);
+        return out.toString();
+    }
+
+    /**
+     * Writes all histograms as JSON to {@code janitri.latency.export}, if set.
+     */
+    public void exportIfConfigured() {
+        String file = TestConfig.get("janitri.latency.export", "");
+        if (file.isEmpty()) {
+            return;
+        }
+        try {
+            export(Paths.get(file));
+            System.out.println("WebDriver latency exported to " + file);
+        } catch (IOException e) {
+            System.out.println("Could not export WebDriver latency: " + e.getMessage());
+        }
+    }
+
+    public void export(Path file) throws IOException {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("sampleRate", sampleRate());
+        root.put("commands", toJson(commands));
+        root.put("locators", toJson(locators));
+        root.put("waits", toJson(waits));
+        root.put("tests", toJson(tests));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, new Json().toJson(root));
+    }
+
+    private static LatencyHistogram histogram(Map<String, LatencyHistogram> section, String key) {
+        return section.computeIfAbsent(key, k -> new LatencyHistogram());
+    }
+
+    private static List<Map.Entry<String, LatencyHistogram>> byTotalTime(Map<String, LatencyHistogram> section) {
+        List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>(section.entrySet());
+        entries.sort((a, b) -> Double.compare(b.getValue().getTotalMillis(), a.getValue().getTotalMillis()));
+        return entries;
+    }
+
+    private static void appendSection(StringBuilder out, String title, Map<String, LatencyHistogram> section) {
+        if (section.isEmpty()) {
+            return;
+        }
+        out.append(String.format("%-50s %7s %9s %9s %9s %9s %10s%n", title, "count", "p50", "p95", "p99", "max", "total"));
+        List<Map.Entry<String, LatencyHistogram>> entries = byTotalTime(section);
+        for (Map.Entry<String, LatencyHistogram> entry : entries.subList(0, Math.min(SUMMARY_ROWS, entries.size()))) {
+            LatencyHistogram h = entry.getValue();
+            out.append(String.format("  %-48s %7d %9.1f %9.1f %9.1f %9.1f %10.0f%n", abbreviate(entry.getKey()),
+                    h.getCount(), h.percentileMillis(50), h.percentileMillis(95), h.percentileMillis(99),
+                    h.getMaxMillis(), h.getTotalMillis()));
+        }
+        if (entries.size() > SUMMARY_ROWS) {
+            out.append("  ... ").append(entries.size() - SUMMARY_ROWS).append(" more").append(System.lineSeparator());
+        }
+    }
+
+    private static Map<String, Object> toJson(Map<String, LatencyHistogram> section) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : byTotalTime(section)) {
+            LatencyHistogram h = entry.getValue();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", h.getCount());
+            stats.put("meanMs", h.getMeanMillis());
+            stats.put("p50Ms", h.percentileMillis(50));
+            stats.put("p95Ms", h.percentileMillis(95));
+            stats.put("p99Ms", h.percentileMillis(99));
+            stats.put("maxMs", h.getMaxMillis());
+            stats.put("totalMs", h.getTotalMillis());
+            values.put(entry.getKey(), stats);
+        }
+        return values;
+    }
+
+    private static String abbreviate(String key) {
+        return key.length() <= 48 ? key : key.substring(0, 45) + "...";
+    }
+}
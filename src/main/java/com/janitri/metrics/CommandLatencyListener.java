@@ -0,0 +1,68 @@
+package com.janitri.metrics;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Times every call made through an {@code EventFiringDecorator}-wrapped driver, including
+ * calls on the elements, navigation and options objects it hands out.
+ *
+ * Only a {@code sampleRate} fraction of calls is timed; an unsampled call costs one random
+ * number and a push/pop on a thread-local stack.
+ */
+public class CommandLatencyListener implements WebDriverListener {
+
+    // Marks a call that was not sampled
+    private static final long NOT_SAMPLED = -1;
+
+    private final CommandLatency recorder;
+    private final double sampleRate;
+    // Calls can nest (e.g. a wrapped element call made while another is in flight)
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public CommandLatencyListener(CommandLatency recorder, double sampleRate) {
+        this.recorder = recorder;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            return;
+        }
+        boolean sampled = sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        starts.get().push(sampled ? System.nanoTime() : NOT_SAMPLED);
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, args);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, args);
+    }
+
+    private void finish(Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            return;
+        }
+        Deque<Long> stack = starts.get();
+        Long start = stack.poll();
+        if (start == null || start == NOT_SAMPLED) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        recorder.recordCommand(method.getName(), nanos, sampleRate);
+        if (args != null && args.length > 0 && args[0] instanceof By) {
+            recorder.recordLocator((By) args[0], nanos);
+        }
+    }
+}
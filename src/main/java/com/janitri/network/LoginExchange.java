@@ -0,0 +1,152 @@
+package com.janitri.network;
+
+/**
+ * The login request the page sent and the response it got, as seen by DevTools.
+ *
+ * Server time is how long the server took to answer (request sent until response headers
+ * received). Render time is measured separately, from the moment the response arrived until
+ * the page showed the outcome, once the caller reports that with {@link #recordRendered()}.
+ */
+public final class LoginExchange {
+
+    public enum Outcome {
+        // 2xx/3xx - credentials accepted
+        ACCEPTED,
+        // 4xx - e.g. 401 "Invalid credentials"
+        REJECTED,
+        // 5xx
+        SERVER_ERROR,
+        // No response: connection refused, CORS, aborted
+        NETWORK_ERROR
+    }
+
+    private static final int SUMMARY_LENGTH = 200;
+
+    private final String requestId;
+    private final String method;
+    private final String url;
+    private final int status;
+    private final String statusText;
+    private final String mimeType;
+    private final double serverMillis;
+    private final double totalMillis;
+    private final String errorText;
+    private final long completedAtNanos;
+    private volatile String bodySummary;
+    private volatile long renderedAtNanos;
+
+    public LoginExchange(String requestId, String method, String url, int status, String statusText, String mimeType,
+                         double serverMillis, double totalMillis, String errorText, long completedAtNanos) {
+        this.requestId = requestId;
+        this.method = method;
+        this.url = url;
+        this.status = status;
+        this.statusText = statusText;
+        this.mimeType = mimeType;
+        this.serverMillis = serverMillis;
+        this.totalMillis = totalMillis;
+        this.errorText = errorText;
+        this.completedAtNanos = completedAtNanos;
+    }
+
+    public Outcome getOutcome() {
+        if (errorText != null || status <= 0) {
+            return Outcome.NETWORK_ERROR;
+        }
+        if (status >= 500) {
+            return Outcome.SERVER_ERROR;
+        }
+        return status >= 400 ? Outcome.REJECTED : Outcome.ACCEPTED;
+    }
+
+    public boolean isAccepted() {
+        return getOutcome() == Outcome.ACCEPTED;
+    }
+
+    /**
+     * Marks the moment the page showed the outcome; only the first call counts.
+     */
+    public void recordRendered() {
+        if (renderedAtNanos == 0) {
+            renderedAtNanos = System.nanoTime();
+        }
+    }
+
+    // Response arrival until the page showed the outcome, -1 if not recorded
+    public double getRenderMillis() {
+        return renderedAtNanos == 0 ? -1 : (renderedAtNanos - completedAtNanos) / 1_000_000.0;
+    }
+
+    // Request sent until response headers, -1 if DevTools did not report timing
+    public double getServerMillis() {
+        return serverMillis;
+    }
+
+    // Request start until the body was fully received
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    void setBodySummary(String body) {
+        if (body == null) {
+            return;
+        }
+        String flat = body.replaceAll("\\s+", " ").trim();
+        bodySummary = flat.length() > SUMMARY_LENGTH ? flat.substring(0, SUMMARY_LENGTH) + "..." : flat;
+    }
+
+    public String getBodySummary() {
+        return bodySummary;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getStatusText() {
+        return statusText;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public String getErrorText() {
+        return errorText;
+    }
+
+    /**
+     * Outcome as a message for tests, e.g.
+     * {@code Login failed - server responded 401 Unauthorized: {"message":"Invalid credentials"}}.
+     */
+    public String describe() {
+        switch (getOutcome()) {
+            case ACCEPTED:
+                return "Login accepted - server responded " + status;
+            case NETWORK_ERROR:
+                return "Login failed - network error: " + errorText;
+            default:
+                String text = statusText == null || statusText.isEmpty() ? "" : " " + statusText;
+                return "Login failed - server responded " + status + text
+                        + (bodySummary == null || bodySummary.isEmpty() ? "" : ": " + bodySummary);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LoginExchange[%s %s -> %s %d, server=%.0fms, total=%.0fms, render=%.0fms]",
+                method, url, getOutcome(), status, serverMillis, totalMillis, getRenderMillis());
+    }
+}
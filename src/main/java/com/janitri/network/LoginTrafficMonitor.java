@@ -0,0 +1,129 @@
+package com.janitri.network;
+
+import com.janitri.base.TestConfig;
+import com.janitri.waits.WaitBudget;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Follows the login XHR/fetch of one session through DevTools network events.
+ *
+ * Subscribes once per session, with raw event names so it does not depend on the CDP version
+ * of the installed Chrome. The page object arms it before submitting and can then wait for
+ * the response instead of polling the DOM for error text. The response body is only fetched
+ * when the caller waits for it, on the caller's thread.
+ *
+ * {@code -Djanitri.login.networkCapture=false} turns it off and
+ * {@code -Djanitri.login.requestPattern} (a regex, default matching login/auth/token/session
+ * URLs) picks the request.
+ */
+public final class LoginTrafficMonitor {
+
+    private static final List<String> EVENTS = List.of(
+            "Network.requestWillBeSent", "Network.responseReceived", "Network.loadingFinished", "Network.loadingFailed");
+
+    // Sessions that could not be monitored map to null, so they are not retried per page object
+    private static final Map<WebDriver, LoginTrafficMonitor> MONITORS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final DevTools devTools;
+    private final LoginTrafficRecorder recorder;
+
+    private LoginTrafficMonitor(DevTools devTools, LoginTrafficRecorder recorder) {
+        this.devTools = devTools;
+        this.recorder = recorder;
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("janitri.login.networkCapture", true);
+    }
+
+    /**
+     * Monitor of the session, started on first use. Null if capture is off or the session has
+     * no DevTools connection.
+     */
+    public static LoginTrafficMonitor forDriver(WebDriver driver) {
+        if (!isEnabled() || !(driver instanceof HasDevTools)) {
+            return null;
+        }
+        synchronized (MONITORS) {
+            if (MONITORS.containsKey(driver)) {
+                return MONITORS.get(driver);
+            }
+            LoginTrafficMonitor monitor = null;
+            try {
+                monitor = start(driver);
+            } catch (Exception e) {
+                System.out.println("Login network capture unavailable, falling back to the DOM: " + e.getMessage());
+            }
+            MONITORS.put(driver, monitor);
+            return monitor;
+        }
+    }
+
+    private static LoginTrafficMonitor start(WebDriver driver) {
+        LoginTrafficRecorder recorder = new LoginTrafficRecorder(Pattern.compile(
+                TestConfig.get("janitri.login.requestPattern", "(?i)(login|signin|sign-in|auth|token|session)")));
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne(driver.getWindowHandle());
+        for (String name : EVENTS) {
+            devTools.addListener(new Event<Map<String, Object>>(name, input -> input.read(Json.MAP_TYPE)),
+                    params -> recorder.onEvent(name, params));
+        }
+        devTools.send(new Command<Void>("Network.enable", Map.of()));
+        return new LoginTrafficMonitor(devTools, recorder);
+    }
+
+    // Call right before submitting the form
+    public void arm() {
+        recorder.arm();
+    }
+
+    /**
+     * Waits, within the test's wait budget, for the login response after the last
+     * {@link #arm()}, and fetches a summary of its body. Null if no login request was sent
+     * within {@code startTimeout} or it did not finish in time.
+     */
+    public LoginExchange awaitResponse(Duration startTimeout, Duration timeout) {
+        LoginExchange exchange = WaitBudget.current().run("loginResponse", timeout,
+                granted -> recorder.await(startTimeout, granted));
+        if (exchange != null && exchange.getBodySummary() == null && exchange.getErrorText() == null) {
+            exchange.setBodySummary(body(exchange.getRequestId()));
+        }
+        return exchange;
+    }
+
+    // Login that completed since the last arm(), without waiting
+    public LoginExchange current() {
+        return recorder.current();
+    }
+
+    private String body(String requestId) {
+        try {
+            Map<String, Object> result = devTools.send(new Command<Map<String, Object>>("Network.getResponseBody",
+                    Map.of("requestId", requestId), input -> input.read(Json.MAP_TYPE)));
+            Object body = result.get("body");
+            if (body == null) {
+                return null;
+            }
+            return Boolean.TRUE.equals(result.get("base64Encoded"))
+                    ? new String(Base64.getDecoder().decode(body.toString()), StandardCharsets.UTF_8)
+                    : body.toString();
+        } catch (Exception e) {
+            // Body already evicted from the browser's buffer
+            return null;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.janitri.network;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Turns DevTools {@code Network.*} events into the {@link LoginExchange} of the last submit.
+ *
+ * Only XHR and fetch requests whose URL matches the login pattern are followed. {@link #arm()}
+ * is called right before the form is submitted; the first matching request after that is the
+ * login, and it completes when its body has been received or the request failed. Events come
+ * in on the DevTools connection thread, waiting happens on the test thread.
+ */
+public class LoginTrafficRecorder {
+
+    // Request that has been sent but not finished yet
+    private static final class InFlight {
+        final String method;
+        final String url;
+        final double startSeconds;
+        int status;
+        String statusText;
+        String mimeType;
+        double serverMillis = -1;
+
+        InFlight(String method, String url, double startSeconds) {
+            this.method = method;
+            this.url = url;
+            this.startSeconds = startSeconds;
+        }
+    }
+
+    private final Pattern urlPattern;
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+    private CompletableFuture<Void> started = new CompletableFuture<>();
+    private CompletableFuture<LoginExchange> completed = new CompletableFuture<>();
+    private String loginRequestId;
+
+    public LoginTrafficRecorder(Pattern urlPattern) {
+        this.urlPattern = urlPattern;
+    }
+
+    /**
+     * Forgets the previous login; the next matching request is the one to wait for.
+     */
+    public synchronized void arm() {
+        inFlight.clear();
+        loginRequestId = null;
+        started = new CompletableFuture<>();
+        completed = new CompletableFuture<>();
+    }
+
+    public void onEvent(String method, Map<String, Object> params) {
+        switch (method) {
+            case "Network.requestWillBeSent":
+                onRequest(params);
+                break;
+            case "Network.responseReceived":
+                onResponse(params);
+                break;
+            case "Network.loadingFinished":
+                onFinished(params);
+                break;
+            case "Network.loadingFailed":
+                onFailed(params);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private synchronized void onRequest(Map<String, Object> params) {
+        Map<String, Object> request = map(params.get("request"));
+        String type = string(params.get("type"));
+        String method = string(request.get("method"));
+        String url = string(request.get("url"));
+        if (loginRequestId != null || url == null || "OPTIONS".equals(method)
+                || !("XHR".equals(type) || "Fetch".equals(type)) || !urlPattern.matcher(url).find()) {
+            return;
+        }
+        loginRequestId = string(params.get("requestId"));
+        inFlight.put(loginRequestId, new InFlight(method, url, number(params.get("timestamp"), 0)));
+        started.complete(null);
+    }
+
+    private synchronized void onResponse(Map<String, Object> params) {
+        InFlight request = inFlight.get(string(params.get("requestId")));
+        if (request == null) {
+            return;
+        }
+        Map<String, Object> response = map(params.get("response"));
+        request.status = (int) number(response.get("status"), 0);
+        request.statusText = string(response.get("statusText"));
+        request.mimeType = string(response.get("mimeType"));
+        Map<String, Object> timing = map(response.get("timing"));
+        if (timing.containsKey("sendEnd") && timing.containsKey("receiveHeadersEnd")) {
+            // Both are offsets in ms from the same requestTime: the wait for the first byte
+            request.serverMillis = number(timing.get("receiveHeadersEnd"), 0) - number(timing.get("sendEnd"), 0);
+        } else {
+            request.serverMillis = (number(params.get("timestamp"), request.startSeconds) - request.startSeconds) * 1000;
+        }
+    }
+
+    private synchronized void onFinished(Map<String, Object> params) {
+        String requestId = string(params.get("requestId"));
+        InFlight request = inFlight.remove(requestId);
+        if (request != null) {
+            complete(requestId, request, number(params.get("timestamp"), request.startSeconds), null);
+        }
+    }
+
+    private synchronized void onFailed(Map<String, Object> params) {
+        String requestId = string(params.get("requestId"));
+        InFlight request = inFlight.remove(requestId);
+        if (request != null) {
+            String error = string(params.get("errorText"));
+            complete(requestId, request, number(params.get("timestamp"), request.startSeconds),
+                    error == null ? "failed" : error);
+        }
+    }
+
+    private void complete(String requestId, InFlight request, double endSeconds, String error) {
+        completed.complete(new LoginExchange(requestId, request.method, request.url, request.status,
+                request.statusText, request.mimeType, request.serverMillis, (endSeconds - request.startSeconds) * 1000,
+                error, System.nanoTime()));
+    }
+
+    /**
+     * Waits for the login after the last {@link #arm()}. Returns null if no login request
+     * was sent within {@code startTimeout} (e.g. the form rejected the input itself) or the
+     * response did not finish within {@code timeout}.
+     */
+    public LoginExchange await(Duration startTimeout, Duration timeout) {
+        CompletableFuture<Void> requestStarted;
+        CompletableFuture<LoginExchange> requestCompleted;
+        synchronized (this) {
+            requestStarted = started;
+            requestCompleted = completed;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            requestStarted.get(Math.min(startTimeout.toMillis(), timeout.toMillis()), TimeUnit.MILLISECONDS);
+            return requestCompleted.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // Login completed since the last arm(), without waiting
+    public synchronized LoginExchange current() {
+        return completed.getNow(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Map.of();
+    }
+
+    private static String string(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private static double number(Object value, double fallback) {
+        return value instanceof Number ? ((Number) value).doubleValue() : fallback;
+    }
+}
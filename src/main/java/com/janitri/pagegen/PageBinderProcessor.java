@@ -0,0 +1,197 @@
+package com.janitri.pagegen;
+
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.How;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates the {@code @FindBy} wiring of page objects at compile time.
+ *
+ * For every class with {@code @FindBy} fields a {@code <Page>_Binder} is written next to it,
+ * e.g. {@code LoginPage_Binder}. Its {@code bind(page, elements)} assigns each field the
+ * element the {@code elements} function returns for the field's locator, with the
+ * {@code By} built in the generated code. Nothing is looked up while binding, and the page
+ * object needs no reflective field scan or dynamic proxies.
+ *
+ * Fields must be {@code WebElement}s that are neither private, static nor final, with
+ * exactly one locator. {@code @FindBy} stays on the fields, so {@code PageFactory} can still
+ * wire the same class.
+ */
+@SupportedAnnotationTypes("org.openqa.selenium.support.FindBy")
+public class PageBinderProcessor extends AbstractProcessor {
+
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+    private static final String BY = "org.openqa.selenium.By";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        Map<TypeElement, List<VariableElement>> pages = new LinkedHashMap<>();
+        for (Element element : round.getElementsAnnotatedWith(FindBy.class)) {
+            if (element.getKind() != ElementKind.FIELD) {
+                continue;
+            }
+            pages.computeIfAbsent((TypeElement) element.getEnclosingElement(), page -> new ArrayList<>())
+                    .add((VariableElement) element);
+        }
+        for (Map.Entry<TypeElement, List<VariableElement>> page : pages.entrySet()) {
+            writeBinder(page.getKey(), page.getValue());
+        }
+        // @FindBy is not consumed - PageFactory still reads it
+        return false;
+    }
+
+    private void writeBinder(TypeElement page, List<VariableElement> fields) {
+        StringBuilder assignments = new StringBuilder();
+        boolean valid = true;
+        for (VariableElement field : fields) {
+            String by = validate(field) ? byExpression(field) : null;
+            if (by == null) {
+                valid = false;
+                continue;
+            }
+            assignments.append("        page.").append(field.getSimpleName())
+                    .append(" = elements.apply(").append(by).append(");\n");
+        }
+        if (!valid) {
+            return;
+        }
+
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(page);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(page).toString();
+        String binderName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + "_Binder";
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * {@code @FindBy} wiring of {@link ").append(page.getQualifiedName()).append("}.\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("final class ").append(binderName).append(" {\n\n")
+                .append("    private ").append(binderName).append("() {\n    }\n\n")
+                .append("    static void bind(").append(page.getQualifiedName()).append(" page,\n")
+                .append("                     java.util.function.Function<").append(BY).append(", ")
+                .append(WEB_ELEMENT).append("> elements) {\n")
+                .append(assignments)
+                .append("    }\n")
+                .append("}\n");
+
+        String fileName = packageName.isEmpty() ? binderName : packageName + "." + binderName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(fileName, page);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            error(page, "Could not write " + fileName + ": " + e.getMessage());
+        }
+    }
+
+    private boolean validate(VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)
+                || modifiers.contains(Modifier.FINAL)) {
+            error(field, "@FindBy field bound at compile time must not be private, static or final");
+            return false;
+        }
+        if (!WEB_ELEMENT.equals(field.asType().toString())) {
+            error(field, "@FindBy field bound at compile time must be a WebElement, not " + field.asType());
+            return false;
+        }
+        return true;
+    }
+
+    // Same locator as Annotations.buildBy() builds at run time, as source code
+    private String byExpression(VariableElement field) {
+        FindBy findBy = field.getAnnotation(FindBy.class);
+        Map<String, String> shortForm = new LinkedHashMap<>();
+        putIfSet(shortForm, "id", findBy.id());
+        putIfSet(shortForm, "name", findBy.name());
+        putIfSet(shortForm, "className", findBy.className());
+        putIfSet(shortForm, "cssSelector", findBy.css());
+        putIfSet(shortForm, "tagName", findBy.tagName());
+        putIfSet(shortForm, "linkText", findBy.linkText());
+        putIfSet(shortForm, "partialLinkText", findBy.partialLinkText());
+        putIfSet(shortForm, "xpath", findBy.xpath());
+
+        if (findBy.how() != How.UNSET) {
+            if (!shortForm.isEmpty()) {
+                error(field, "@FindBy must use either how/using or one of id, name, css, ...; not both");
+                return null;
+            }
+            return howExpression(findBy.how(), findBy.using());
+        }
+        if (shortForm.size() != 1) {
+            error(field, "@FindBy must specify exactly one locator, found " + shortForm.keySet());
+            return null;
+        }
+        Map.Entry<String, String> locator = shortForm.entrySet().iterator().next();
+        return BY + "." + locator.getKey() + "(" + literal(locator.getValue()) + ")";
+    }
+
+    private String howExpression(How how, String using) {
+        switch (how) {
+            case CLASS_NAME:
+                return BY + ".className(" + literal(using) + ")";
+            case CSS:
+                return BY + ".cssSelector(" + literal(using) + ")";
+            case ID:
+                return BY + ".id(" + literal(using) + ")";
+            case ID_OR_NAME:
+                return "new org.openqa.selenium.support.pagefactory.ByIdOrName(" + literal(using) + ")";
+            case LINK_TEXT:
+                return BY + ".linkText(" + literal(using) + ")";
+            case NAME:
+                return BY + ".name(" + literal(using) + ")";
+            case PARTIAL_LINK_TEXT:
+                return BY + ".partialLinkText(" + literal(using) + ")";
+            case TAG_NAME:
+                return BY + ".tagName(" + literal(using) + ")";
+            case XPATH:
+                return BY + ".xpath(" + literal(using) + ")";
+            default:
+                throw new IllegalArgumentException("Unsupported How: " + how);
+        }
+    }
+
+    private static void putIfSet(Map<String, String> locators, String method, String value) {
+        if (!value.isEmpty()) {
+            locators.put(method, value);
+        }
+    }
+
+    private String literal(String value) {
+        return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -1,15 +1,167 @@
 package com.janitri.pages;
 
+import com.janitri.base.TestConfig;
+import com.janitri.locators.CachedElement;
+import com.janitri.locators.CachedElementDecorator;
+import com.janitri.locators.ElementCache;
+import com.janitri.locators.MultiSelectorResolver;
+import com.janitri.network.LoginExchange;
+import com.janitri.network.LoginTrafficMonitor;
+import com.janitri.waits.BudgetedElementLocatorFactory;
+import com.janitri.waits.PageWaits;
 import org.openqa.selenium.*;
+import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.*;
 import org.openqa.selenium.support.ui.*;
 import org.openqa.selenium.JavascriptExecutor;
 
+import java.net.URI;
 import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
 
 public class LoginPage {
+    // Fallback locator lists, each resolved in one round trip by MultiSelectorResolver
+    private static final List<String> PASSWORD_TOGGLE_SELECTORS = List.of(
+            "//button[contains(@class, 'eye') or contains(@class, 'toggle') or contains(@class, 'show')]",
+            "//button[.//*[name()='svg']]",
+            "//span[contains(@class, 'eye') or contains(@class, 'toggle')]",
+            "//i[contains(@class, 'eye') or contains(@class, 'fa-eye')]",
+            "//*[contains(@class, 'password')]//*[contains(@class, 'toggle') or contains(@class, 'eye')]",
+            "//div[contains(@class, 'password')]//button",
+            "//*[@type='button' and contains(@aria-label, 'password') or contains(@title, 'password')]",
+            "//*[contains(@class, 'password-toggle')]",
+            "//*[contains(@class, 'show-password')]"
+    );
+
+    private static final List<String> EMAIL_ERROR_SELECTORS = List.of(
+            "//*[contains(text(), 'invalid email') or contains(text(), 'Invalid email')]",
+            "//*[contains(text(), 'email format') or contains(text(), 'Email format')]",
+            "//*[contains(text(), 'valid email') or contains(text(), 'Valid email')]",
+            "//*[contains(@class, 'error') and contains(text(), 'email')]",
+            "//*[contains(@class, 'validation') and contains(text(), 'email')]"
+    );
+
+    private static final List<String> EYE_ICON_SELECTORS = List.of(
+            "//*[contains(@class, 'eye')]",
+            "//*[contains(@class, 'toggle')]",
+            "//*[contains(@class, 'show')]",
+            "//*[contains(@class, 'password-toggle')]",
+            "//*[contains(@class, 'show-password')]",
+            "//*[contains(@aria-label, 'password')]",
+            "//*[contains(@title, 'password')]"
+    );
+
+    private static final List<String> ERROR_SELECTORS = List.of(
+            "//p[contains(text(),'Invalid') or contains(text(),'invalid')]",
+            "//div[contains(@class, 'error') or contains(@class, 'alert')]",
+            "//span[contains(@class, 'error') or contains(@class, 'invalid')]",
+            "//*[contains(text(), 'credentials') or contains(text(), 'Credentials')]",
+            "//*[contains(text(), 'wrong') or contains(text(), 'incorrect')]",
+            "//p[@class='normal-text']",
+            "//*[contains(@class, 'message') and (contains(text(), 'Invalid') or contains(text(), 'Error'))]",
+            "//*[contains(text(), 'failed') or contains(text(), 'Failed')]",
+            "//*[contains(text(), 'not found') or contains(text(), 'Not found')]"
+    );
+
+    private static final List<String> VALIDATION_SELECTORS = List.of(
+            "//p[contains(text(), 'required') or contains(text(), 'Required')]",
+            "//span[contains(text(), 'required') or contains(text(), 'Required')]",
+            "//div[contains(text(), 'Please enter') or contains(text(), 'please enter')]",
+            "//*[contains(text(), 'field') and contains(text(), 'required')]",
+            "//*[contains(text(), 'email') and contains(text(), 'required')]",
+            "//*[contains(text(), 'password') and contains(text(), 'required')]",
+            "//small[contains(@class, 'error') or contains(@class, 'invalid')]",
+            "//*[contains(@class, 'validation') or contains(@class, 'field-error')]",
+            "//*[contains(text(), 'cannot be empty') or contains(text(), 'Cannot be empty')]"
+    );
+
+    private static final List<String> ALLOW_SELECTORS = List.of(
+            "//button[contains(text(), 'Allow')]",
+            "//button[contains(text(), 'Allow notifications')]",
+            "//button[contains(@aria-label, 'Allow')]",
+            "//button[contains(@title, 'Allow')]",
+            "//div[contains(@class, 'notification')]//button[contains(text(), 'Allow')]",
+            "//*[contains(text(), 'Allow') and contains(@role, 'button')]",
+            "//*[contains(text(), 'Allow')]",
+            "//*[contains(text(), 'Allow')]//ancestor::button",
+            "//button[contains(., 'Allow') or contains(., 'allow')]",
+            "//*[contains(text(), 'Allow')]//parent::button"
+    );
+
+    private static final List<String> RELOAD_SELECTORS = List.of(
+            "//button[contains(text(), 'Reload')]",
+            "//a[contains(text(), 'Reload')]",
+            "//*[contains(text(), 'Reload')]",
+            "//*[contains(text(), 'reload')]",
+            "//*[contains(text(), 'Reload')]//ancestor::button",
+            "//button[contains(., 'Reload') or contains(., 'reload')]",
+            "//*[contains(text(), 'Reload')]//parent::button"
+    );
+
+    private static final List<String> DIALOG_ALLOW_SELECTORS = List.of(
+            "//button[contains(text(), 'Allow')]",
+            "//button[contains(text(), 'Allow notifications')]",
+            "//*[contains(text(), 'Allow')]",
+            "//button[contains(., 'Allow')]",
+            "//*[contains(text(), 'Allow')]//ancestor::button"
+    );
+
+    private static final List<String> DIALOG_RELOAD_SELECTORS = List.of(
+            "//button[contains(text(), 'Reload')]",
+            "//*[contains(text(), 'Reload')]",
+            "//button[contains(., 'Reload')]"
+    );
+
+    // How long a @FindBy lookup may wait for its element
+    private static final Duration ELEMENT_WAIT = Duration.ofSeconds(5);
+    // The login XHR starts on submit; without one in this time the form rejected the input itself
+    private static final Duration LOGIN_REQUEST_START_WAIT = Duration.ofSeconds(2);
+    private static final Duration LOGIN_RESPONSE_WAIT = Duration.ofSeconds(10);
+    // Once the response is known the error only has to render
+    private static final Duration ERROR_RENDER_WAIT = Duration.ofSeconds(3);
+
+    // Fills (or clears) both fields and optionally clicks the login button in one round trip.
+    // The prototype value setter bypasses framework-patched value properties, so React-style
+    // inputs see the change through the input/change events like they would from typing
+    private static final String FILL_AND_SUBMIT_SCRIPT =
+            "var email = document.querySelector('input[name=email]');" +
+            "var password = document.querySelector('input[name=password]');" +
+            "var button = document.querySelector('button');" +
+            "if (!email || !password || !button) return null;" +
+            "var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;" +
+            "function fill(el, value) {" +
+            "  el.focus();" +
+            "  setter.call(el, value);" +
+            "  el.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "  el.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  el.blur();" +
+            "}" +
+            "if (!arguments[2]) { fill(email, ''); fill(password, ''); return [email, password, button]; }" +
+            "fill(email, arguments[0]);" +
+            "fill(password, arguments[1]);" +
+            "button.click();" +
+            "return [];";
+
+    /**
+     * How {@link #fillAndSubmit} gets the credentials into the form.
+     */
+    public enum InputMode {
+        // Values set in the page and the button clicked by script: one round trip
+        SCRIPT,
+        // Fields cleared by script, then real clicks and key events in one Actions sequence:
+        // two round trips, for input handlers that only react to keystrokes
+        NATIVE_KEYS
+    }
+
     WebDriver driver;
+    private final MultiSelectorResolver resolver;
+    private final PageWaits waits;
+    private final PageStateProbe probe;
+    // Null when the session has no DevTools connection - outcome then comes from the DOM only
+    private final LoginTrafficMonitor network;
+    // Resolved handles of the @FindBy fields, re-resolved only once they go stale
+    private final ElementCache elements = new ElementCache(ElementCache.isEnabled());
 
     @FindBy(name = "email")
     WebElement userId;
@@ -24,16 +176,20 @@ public class LoginPage {
     @FindBy(xpath = "//button[@type='submit']")
     WebElement submitButton;
 
-    // Use more reliable locators that work with the actual page
-    @FindBy(name = "email")
-    WebElement emailInput;
-
-    @FindBy(name = "password")
-    WebElement passwordInput;
-
     public LoginPage(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        this.resolver = new MultiSelectorResolver(driver);
+        this.waits = new PageWaits(driver);
+        this.probe = new PageStateProbe(driver);
+        this.network = LoginTrafficMonitor.forDriver(driver);
+        // Element lookups wait (within the test's wait budget) instead of a session implicit wait
+        BudgetedElementLocatorFactory locators = new BudgetedElementLocatorFactory(driver, ELEMENT_WAIT);
+        if (TestConfig.getBoolean("janitri.pages.generatedBinder", true)) {
+            // Wiring generated at compile time: plain field assignments, elements resolved on first use
+            LoginPage_Binder.bind(this, by -> new CachedElement(by, locators.createLocator(by), elements));
+        } else {
+            PageFactory.initElements(new CachedElementDecorator(locators, elements), this);
+        }
     }
 
     // Basic input methods
@@ -48,6 +204,7 @@ public class LoginPage {
     }
 
     public void clickLogin() {
+        armLoginCapture();
         try {
             // Use JavaScript click to avoid interception
             ((JavascriptExecutor) driver).executeScript("arguments[0].click();", loginButton);
@@ -58,6 +215,7 @@ public class LoginPage {
     }
 
     public void clickSubmit() {
+        armLoginCapture();
         try {
             // Use JavaScript click to avoid interception
             ((JavascriptExecutor) driver).executeScript("arguments[0].click();", submitButton);
@@ -67,46 +225,120 @@ public class LoginPage {
         }
     }
 
+    /**
+     * Fills both fields and submits in one or two round trips instead of a dozen, using the
+     * {@code janitri.login.inputMode} input mode ({@code script} or {@code native_keys}).
+     */
+    public void fillAndSubmit(String email, String pass) {
+        fillAndSubmit(email, pass, configuredInputMode());
+    }
+
+    public void fillAndSubmit(String email, String pass, InputMode mode) {
+        armLoginCapture();
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeScript(FILL_AND_SUBMIT_SCRIPT, email, pass, mode == InputMode.SCRIPT);
+        } catch (NoSuchSessionException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // The script may have clicked Login before failing (e.g. the submit unloaded the
+            // document mid-call), so the form is never submitted a second time from here
+            PageState state = probe.snapshot().getState();
+            if (mode == InputMode.SCRIPT && state != PageState.LOGIN_FORM_READY && state != PageState.NOTIFICATION_GATE) {
+                System.out.println("Fill-and-submit script interrupted by the submit (page now " + state + "): "
+                        + e.getClass().getSimpleName());
+                return;
+            }
+            throw e;
+        }
+        if (result == null) {
+            // Form not rendered yet - the field-by-field path waits for each element
+            enterUserId(email);
+            enterPassword(pass);
+            clickLogin();
+            return;
+        }
+        if (mode == InputMode.NATIVE_KEYS) {
+            List<?> elements = (List<?>) result;
+            Actions actions = new Actions(driver).click((WebElement) elements.get(0));
+            if (!email.isEmpty()) {
+                actions.sendKeys(email);
+            }
+            actions.click((WebElement) elements.get(1));
+            if (!pass.isEmpty()) {
+                actions.sendKeys(pass);
+            }
+            actions.click((WebElement) elements.get(2)).perform();
+        }
+    }
+
+    private void armLoginCapture() {
+        if (network != null) {
+            network.arm();
+        }
+    }
+
+    /**
+     * Waits for the response to the login request of the last submit, as captured from the
+     * network. Null if network capture is not available, no login request was sent (e.g. the
+     * form rejected the input itself) or no response came within the timeout.
+     */
+    public LoginExchange awaitLoginResponse(Duration timeout) {
+        if (network == null) {
+            return null;
+        }
+        LoginExchange response = network.awaitResponse(LOGIN_REQUEST_START_WAIT, timeout);
+        if (response != null) {
+            System.out.println("Login response: " + response);
+        }
+        return response;
+    }
+
+    /**
+     * Login response of the last submit if it has already arrived, without waiting.
+     */
+    public LoginExchange getLoginResponse() {
+        return network == null ? null : network.current();
+    }
+
+    private static InputMode configuredInputMode() {
+        String mode = TestConfig.get("janitri.login.inputMode", "script");
+        try {
+            return InputMode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Unknown janitri.login.inputMode '" + mode + "', using script");
+            return InputMode.SCRIPT;
+        }
+    }
+
     // Test Case TC001: Login with valid credentials
     public void loginWithValidCredentials(String email, String password) {
-        enterUserId(email);
-        enterPassword(password);
-        clickLogin();
+        fillAndSubmit(email, password);
     }
 
     // Test Case TC002: Login with invalid email
     public void loginWithInvalidEmail(String invalidEmail, String password) {
-        enterUserId(invalidEmail);
-        enterPassword(password);
-        clickLogin();
+        fillAndSubmit(invalidEmail, password);
     }
 
     // Test Case TC003: Login with invalid password
     public void loginWithInvalidPassword(String email, String invalidPassword) {
-        enterUserId(email);
-        enterPassword(invalidPassword);
-        clickLogin();
+        fillAndSubmit(email, invalidPassword);
     }
 
     // Test Case TC004: Login with both fields empty
     public void loginWithEmptyFields() {
-        enterUserId("");
-        enterPassword("");
-        clickLogin();
+        fillAndSubmit("", "");
     }
 
     // Test Case TC005: Login with only email
     public void loginWithOnlyEmail(String email) {
-        enterUserId(email);
-        enterPassword("");
-        clickLogin();
+        fillAndSubmit(email, "");
     }
 
     // Test Case TC006: Login with only password
     public void loginWithOnlyPassword(String password) {
-        enterUserId("");
-        enterPassword(password);
-        clickLogin();
+        fillAndSubmit("", password);
     }
 
     // Test Case TC007: Password field masks input
@@ -117,33 +349,15 @@ public class LoginPage {
     // Test Case TC008 & TC009: Toggle password visibility
     public void togglePasswordVisibility() {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-
-            // Try multiple possible selectors for the password toggle button
-            List<String> possibleSelectors = List.of(
-                    "//button[contains(@class, 'eye') or contains(@class, 'toggle') or contains(@class, 'show')]",
-                    "//button[.//*[name()='svg']]",
-                    "//span[contains(@class, 'eye') or contains(@class, 'toggle')]",
-                    "//i[contains(@class, 'eye') or contains(@class, 'fa-eye')]",
-                    "//*[contains(@class, 'password')]//*[contains(@class, 'toggle') or contains(@class, 'eye')]",
-                    "//div[contains(@class, 'password')]//button",
-                    "//*[@type='button' and contains(@aria-label, 'password') or contains(@title, 'password')]",
-                    "//*[contains(@class, 'password-toggle')]",
-                    "//*[contains(@class, 'show-password')]"
-            );
-
-            WebElement toggle = null;
-            for (String selector : possibleSelectors) {
-                try {
-                    toggle = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(selector)));
-                    break;
-                } catch (TimeoutException e) {
-                    // Continue to next selector
-                }
-            }
+            // Try all possible selectors for the password toggle button within one 10s wait
+            MultiSelectorResolver.Match toggle = resolver.resolve("login.passwordToggle", PASSWORD_TOGGLE_SELECTORS,
+                    MultiSelectorResolver.Condition.CLICKABLE, Duration.ofSeconds(10));
 
             if (toggle != null) {
-                toggle.click();
+                String typeBefore = password.getAttribute("type");
+                toggle.getElement().click();
+                // Return as soon as the field type flips instead of sleeping
+                waits.attributeChanged(password, "type", typeBefore, Duration.ofSeconds(2));
                 System.out.println("Password toggle clicked successfully");
             } else {
                 System.out.println("Password toggle button not found");
@@ -165,10 +379,7 @@ public class LoginPage {
     // Test Case TC011: Email input accepts text
     public void enterEmailText(String text) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            WebElement emailField = wait.until(ExpectedConditions.elementToBeClickable(By.name("email")));
-            emailField.clear();
-            emailField.sendKeys(text);
+            typeInto(userId, "emailClickable", By.name("email"), text);
         } catch (Exception e) {
             System.out.println("Could not enter email text: " + e.getMessage());
         }
@@ -177,36 +388,32 @@ public class LoginPage {
     // Test Case TC012: Password input accepts text
     public void enterPasswordText(String text) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            WebElement passwordField = wait.until(ExpectedConditions.elementToBeClickable(By.name("password")));
-            passwordField.clear();
-            passwordField.sendKeys(text);
+            typeInto(password, "passwordClickable", By.name("password"), text);
         } catch (Exception e) {
             System.out.println("Could not enter password text: " + e.getMessage());
         }
     }
 
+    // Types into the field's cached handle; waits for it to become clickable only if it is not yet
+    private void typeInto(WebElement field, String name, By by, String text) {
+        try {
+            field.clear();
+            field.sendKeys(text);
+        } catch (InvalidElementStateException e) {
+            WebElement ready = waits.until(name, ExpectedConditions.elementToBeClickable(by), Duration.ofSeconds(10));
+            ready.clear();
+            ready.sendKeys(text);
+        }
+    }
+
     // Test Case TC013: Email field shows validation on invalid format
     public String getEmailValidationError() {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-            
             // Try to find email validation error
-            List<String> emailErrorSelectors = List.of(
-                    "//*[contains(text(), 'invalid email') or contains(text(), 'Invalid email')]",
-                    "//*[contains(text(), 'email format') or contains(text(), 'Email format')]",
-                    "//*[contains(text(), 'valid email') or contains(text(), 'Valid email')]",
-                    "//*[contains(@class, 'error') and contains(text(), 'email')]",
-                    "//*[contains(@class, 'validation') and contains(text(), 'email')]"
-            );
-
-            for (String selector : emailErrorSelectors) {
-                try {
-                    WebElement error = wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(selector)));
-                    return error.getText().trim();
-                } catch (TimeoutException e) {
-                    // Continue to next selector
-                }
+            MultiSelectorResolver.Match error = resolver.resolve("login.emailValidationError", EMAIL_ERROR_SELECTORS,
+                    MultiSelectorResolver.Condition.VISIBLE, Duration.ofSeconds(5));
+            if (error != null) {
+                return error.getText();
             }
             
             return "No email validation error found";
@@ -217,15 +424,15 @@ public class LoginPage {
 
     // Test Case TC014: Fields are cleared on reload
     public void reloadPage() {
+        // New document - waitForPageLoad caches the new handles
+        elements.invalidateAll();
         driver.navigate().refresh();
         waitForPageLoad();
     }
 
     public String getEmailFieldValue() {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            WebElement emailField = wait.until(ExpectedConditions.presenceOfElementLocated(By.name("email")));
-            return emailField.getAttribute("value");
+            return userId.getAttribute("value");
         } catch (Exception e) {
             return "";
         }
@@ -233,9 +440,7 @@ public class LoginPage {
 
     public String getPasswordFieldValue() {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            WebElement passwordField = wait.until(ExpectedConditions.presenceOfElementLocated(By.name("password")));
-            return passwordField.getAttribute("value");
+            return password.getAttribute("value");
         } catch (Exception e) {
             return "";
         }
@@ -243,35 +448,14 @@ public class LoginPage {
 
     // Test Case TC015: Login with long email and password
     public void loginWithLongCredentials(String longEmail, String longPassword) {
-        enterUserId(longEmail);
-        enterPassword(longPassword);
-        clickLogin();
+        fillAndSubmit(longEmail, longPassword);
     }
 
     // Test Case TC016: Eye icon is present
     public boolean isEyeIconPresent() {
         try {
-            List<String> eyeIconSelectors = List.of(
-                    "//*[contains(@class, 'eye')]",
-                    "//*[contains(@class, 'toggle')]",
-                    "//*[contains(@class, 'show')]",
-                    "//*[contains(@class, 'password-toggle')]",
-                    "//*[contains(@class, 'show-password')]",
-                    "//*[contains(@aria-label, 'password')]",
-                    "//*[contains(@title, 'password')]"
-            );
-
-            for (String selector : eyeIconSelectors) {
-                try {
-                    WebElement eyeIcon = driver.findElement(By.xpath(selector));
-                    if (eyeIcon.isDisplayed()) {
-                        return true;
-                    }
-                } catch (NoSuchElementException e) {
-                    // Continue to next selector
-                }
-            }
-            return false;
+            // Single check of every candidate - no per-selector implicit wait
+            return resolver.findNow("login.eyeIcon", EYE_ICON_SELECTORS, MultiSelectorResolver.Condition.VISIBLE) != null;
         } catch (Exception e) {
             return false;
         }
@@ -279,6 +463,7 @@ public class LoginPage {
 
     // Test Case TC017: Submit with Enter key
     public void submitWithEnterKey() {
+        armLoginCapture();
         password.sendKeys(Keys.ENTER);
     }
 
@@ -293,38 +478,53 @@ public class LoginPage {
     // Error message methods
     public String getErrorMessage() {
         try {
-            // First check if notification dialog is blocking the page
-            if (driver.getPageSource().contains("To proceed to the login page please allow")) {
+            // One probe tells us whether the gate is blocking or the error is already shown
+            PageStateProbe.Snapshot snapshot = probe.snapshot();
+            if (snapshot.getState() == PageState.NOTIFICATION_GATE) {
                 handleNotificationDialog();
                 return "Notification permission required - please allow notifications and reload the page";
             }
-            
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-
-            // Try multiple possible error message selectors
-            List<String> errorSelectors = List.of(
-                    "//p[contains(text(),'Invalid') or contains(text(),'invalid')]",
-                    "//div[contains(@class, 'error') or contains(@class, 'alert')]",
-                    "//span[contains(@class, 'error') or contains(@class, 'invalid')]",
-                    "//*[contains(text(), 'credentials') or contains(text(), 'Credentials')]",
-                    "//*[contains(text(), 'wrong') or contains(text(), 'incorrect')]",
-                    "//p[@class='normal-text']",
-                    "//*[contains(@class, 'message') and (contains(text(), 'Invalid') or contains(text(), 'Error'))]",
-                    "//*[contains(text(), 'failed') or contains(text(), 'Failed')]",
-                    "//*[contains(text(), 'not found') or contains(text(), 'Not found')]"
-            );
-
-            for (String selector : errorSelectors) {
-                try {
-                    WebElement error = wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(selector)));
-                    return error.getText().trim();
-                } catch (TimeoutException e) {
-                    // Continue to next selector
+            if (snapshot.getState() == PageState.AUTH_ERROR) {
+                recordRendered(getLoginResponse());
+                return snapshot.getText();
+            }
+
+            if (network == null) {
+                // No network capture - the DOM is the only source of the outcome.
+                // Try multiple possible error message selectors within one 10s wait
+                MultiSelectorResolver.Match error = resolver.resolve("login.errorMessage", ERROR_SELECTORS,
+                        MultiSelectorResolver.Condition.VISIBLE, Duration.ofSeconds(10));
+                if (error != null) {
+                    return error.getText();
                 }
+                // If no specific error found, check for any error text
+                return getAnyErrorText();
             }
 
-            // If no specific error found, check for any error text
-            return getAnyErrorText();
+            // The login response tells the outcome the moment it arrives, without polling for error text
+            LoginExchange response = awaitLoginResponse(LOGIN_RESPONSE_WAIT);
+            if (response == null) {
+                // No login request (the form rejected the input itself) or no answer in time;
+                // the network wait already took its time, so only a settle and a probe follow
+                return getAnyErrorText();
+            }
+            if (response.isAccepted()) {
+                // A 2xx can still carry an error the page shows - one probe catches that
+                PageStateProbe.Snapshot after = probe.snapshot();
+                if (after.getState() == PageState.AUTH_ERROR || after.getState() == PageState.VALIDATION_ERROR) {
+                    recordRendered(response);
+                    return after.getText();
+                }
+                return response.describe();
+            }
+            MultiSelectorResolver.Match rendered = resolver.resolve("login.errorMessage", ERROR_SELECTORS,
+                    MultiSelectorResolver.Condition.VISIBLE, ERROR_RENDER_WAIT);
+            if (rendered != null) {
+                recordRendered(response);
+                return rendered.getText();
+            }
+            // Outcome is known even if the page shows it somewhere the selectors do not cover
+            return response.describe();
 
         } catch (Exception e) {
             return "No error message found: " + e.getMessage();
@@ -333,34 +533,21 @@ public class LoginPage {
 
     public String getEmptyFieldsError() {
         try {
-            // First check if notification dialog is blocking the page
-            if (driver.getPageSource().contains("To proceed to the login page please allow")) {
+            // One probe tells us whether the gate is blocking or the message is already shown
+            PageStateProbe.Snapshot snapshot = probe.snapshot();
+            if (snapshot.getState() == PageState.NOTIFICATION_GATE) {
                 handleNotificationDialog();
                 return "Notification permission required - please allow notifications and reload the page";
             }
+            if (snapshot.getState() == PageState.VALIDATION_ERROR) {
+                return snapshot.getText();
+            }
             
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-
-            // Try multiple possible validation error selectors
-            List<String> validationSelectors = List.of(
-                    "//p[contains(text(), 'required') or contains(text(), 'Required')]",
-                    "//span[contains(text(), 'required') or contains(text(), 'Required')]",
-                    "//div[contains(text(), 'Please enter') or contains(text(), 'please enter')]",
-                    "//*[contains(text(), 'field') and contains(text(), 'required')]",
-                    "//*[contains(text(), 'email') and contains(text(), 'required')]",
-                    "//*[contains(text(), 'password') and contains(text(), 'required')]",
-                    "//small[contains(@class, 'error') or contains(@class, 'invalid')]",
-                    "//*[contains(@class, 'validation') or contains(@class, 'field-error')]",
-                    "//*[contains(text(), 'cannot be empty') or contains(text(), 'Cannot be empty')]"
-            );
-
-            for (String selector : validationSelectors) {
-                try {
-                    WebElement error = wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(selector)));
-                    return error.getText().trim();
-                } catch (TimeoutException e) {
-                    // Continue to next selector
-                }
+            // Try multiple possible validation error selectors within one 10s wait
+            MultiSelectorResolver.Match error = resolver.resolve("login.validationError", VALIDATION_SELECTORS,
+                    MultiSelectorResolver.Condition.VISIBLE, Duration.ofSeconds(10));
+            if (error != null) {
+                return error.getText();
             }
 
             // If no validation error found, return a descriptive message
@@ -373,28 +560,23 @@ public class LoginPage {
 
     private String getAnyErrorText() {
         try {
-            // Wait a bit for any error to appear
-            Thread.sleep(2000);
-
-            // Look for any error-like elements
-            List<WebElement> possibleErrors = driver.findElements(By.xpath(
-                    "//*[contains(@class, 'error') or contains(@class, 'alert') or contains(@class, 'message') or " +
-                            "contains(@class, 'invalid') or contains(@class, 'validation') or " +
-                            "contains(text(), 'Invalid') or contains(text(), 'required') or contains(text(), 'Please')]"
-            ));
-
-            if (!possibleErrors.isEmpty()) {
-                for (WebElement error : possibleErrors) {
-                    String text = error.getText().trim();
-                    if (!text.isEmpty()) {
-                        return text;
-                    }
-                }
+            // A rejected login response already answers the question, no need to wait for the DOM
+            LoginExchange response = getLoginResponse();
+            if (response != null && !response.isAccepted()) {
+                return response.describe();
+            }
+
+            // Give any error a chance to render - returns as soon as the DOM is quiet
+            waits.domSettled(PageWaits.DEFAULT_QUIET, Duration.ofSeconds(2));
+
+            // Look for any error-like text and where we are in a single probe
+            PageStateProbe.Snapshot snapshot = probe.snapshot();
+            if (snapshot.getState() == PageState.AUTH_ERROR || snapshot.getState() == PageState.VALIDATION_ERROR) {
+                return snapshot.getText();
             }
 
             // Check if we're still on login page (no navigation occurred)
-            String currentUrl = driver.getCurrentUrl();
-            if (currentUrl.contains("login") || currentUrl.contains("dev-dash.janitri.in")) {
+            if (snapshot.getState() != PageState.NAVIGATED_AWAY && snapshot.getState() != PageState.UNKNOWN) {
                 return "Login failed - remained on login page";
             }
 
@@ -405,91 +587,71 @@ public class LoginPage {
         }
     }
 
+    private static void recordRendered(LoginExchange response) {
+        if (response != null) {
+            response.recordRendered();
+            System.out.println(String.format("Login outcome: server %.0f ms, rendered %.0f ms after the response",
+                    response.getServerMillis(), response.getRenderMillis()));
+        }
+    }
+
     public boolean isOnLoginPage() {
         String currentUrl = driver.getCurrentUrl();
-        return currentUrl.contains("dev-dash.janitri.in") &&
-                (currentUrl.contains("login") || currentUrl.equals("https://dev-dash.janitri.in/"));
+        String baseUrl = TestConfig.baseUrl();
+        return currentUrl.contains(URI.create(baseUrl).getHost()) &&
+                (currentUrl.contains("login") || currentUrl.equals(baseUrl));
     }
 
     public void waitForPageLoad() {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-            
             // First, check if we need to handle notification permission
-            if (driver.getPageSource().contains("notifications") || 
-                driver.getPageSource().contains("Notifications") ||
-                driver.getPageSource().contains("To proceed to the login page please allow")) {
+            if (isNotificationGateShowing()) {
                 
                 System.out.println("Notification permission dialog detected, handling...");
                 
-                // Try to find and click "Allow" button with more robust selectors
-                String[] allowSelectors = {
-                    "//button[contains(text(), 'Allow')]",
-                    "//button[contains(text(), 'Allow notifications')]",
-                    "//button[contains(@aria-label, 'Allow')]",
-                    "//button[contains(@title, 'Allow')]",
-                    "//div[contains(@class, 'notification')]//button[contains(text(), 'Allow')]",
-                    "//*[contains(text(), 'Allow') and contains(@role, 'button')]",
-                    "//*[contains(text(), 'Allow')]",
-                    "//*[contains(text(), 'Allow')]//ancestor::button",
-                    "//button[contains(., 'Allow') or contains(., 'allow')]",
-                    "//*[contains(text(), 'Allow')]//parent::button"
-                };
-                
-                for (String selector : allowSelectors) {
-                    try {
-                        WebElement allowButton = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(selector)));
-                        // Use JavaScript click to avoid interception
-                        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", allowButton);
-                        System.out.println("Clicked Allow for notifications using selector: " + selector);
-                        Thread.sleep(2000);
-                        break;
-                    } catch (Exception e) {
-                        // Continue to next selector
-                    }
+                // Try to find and click "Allow" button - all selectors share one 15s wait
+                MultiSelectorResolver.Match allow = resolver.resolve("notification.allow", ALLOW_SELECTORS,
+                        MultiSelectorResolver.Condition.CLICKABLE, Duration.ofSeconds(15));
+                if (allow != null) {
+                    // Use JavaScript click to avoid interception, then wait until the page reacted
+                    clickAndSettle("allowClicked", allow.getElement(), Duration.ofSeconds(5));
+                    System.out.println("Clicked Allow for notifications using selector: " + allow.getSelector());
                 }
                 
                 // If there's a reload button, click it
-                String[] reloadSelectors = {
-                    "//button[contains(text(), 'Reload')]",
-                    "//a[contains(text(), 'Reload')]",
-                    "//*[contains(text(), 'Reload')]",
-                    "//*[contains(text(), 'reload')]",
-                    "//*[contains(text(), 'Reload')]//ancestor::button",
-                    "//button[contains(., 'Reload') or contains(., 'reload')]",
-                    "//*[contains(text(), 'Reload')]//parent::button"
-                };
-                
-                for (String selector : reloadSelectors) {
-                    try {
-                        WebElement reloadButton = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(selector)));
-                        // Use JavaScript click to avoid interception
-                        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", reloadButton);
-                        System.out.println("Clicked Reload button using selector: " + selector);
-                        Thread.sleep(3000);
-                        break;
-                    } catch (Exception e) {
-                        // Continue to next selector
-                    }
+                MultiSelectorResolver.Match reload = resolver.resolve("notification.reload", RELOAD_SELECTORS,
+                        MultiSelectorResolver.Condition.CLICKABLE, Duration.ofSeconds(15));
+                if (reload != null) {
+                    // Use JavaScript click to avoid interception, then wait for the reloaded page
+                    clickAndSettle("reloadClicked", reload.getElement(), Duration.ofSeconds(10));
+                    System.out.println("Clicked Reload button using selector: " + reload.getSelector());
                 }
                 
-                // Wait a bit more to ensure the page is fully loaded after notification handling
-                Thread.sleep(2000);
+                // Make sure the page finished rendering after notification handling
+                waits.domSettled(PageWaits.DEFAULT_QUIET, Duration.ofSeconds(5));
             }
             
             // Wait for essential elements to be present AND interactable
             try {
                 // Wait for email field to be both present and interactable
-                WebElement emailField = wait.until(ExpectedConditions.elementToBeClickable(By.name("email")));
+                WebElement emailField = waits.until("emailClickable",
+                        ExpectedConditions.elementToBeClickable(By.name("email")), Duration.ofSeconds(15));
                 System.out.println("Email field is ready for interaction");
                 
                 // Wait for password field to be both present and interactable
-                WebElement passwordField = wait.until(ExpectedConditions.elementToBeClickable(By.name("password")));
+                WebElement passwordField = waits.until("passwordClickable",
+                        ExpectedConditions.elementToBeClickable(By.name("password")), Duration.ofSeconds(15));
                 System.out.println("Password field is ready for interaction");
                 
                 // Wait for login button to be clickable
-                WebElement loginBtn = wait.until(ExpectedConditions.elementToBeClickable(By.tagName("button")));
+                WebElement loginBtn = waits.until("loginButtonClickable",
+                        ExpectedConditions.elementToBeClickable(By.tagName("button")), Duration.ofSeconds(15));
                 System.out.println("Login button is ready for interaction");
+
+                // The waits already returned the handles, so the fields need no lookup of their own
+                elements.put(By.name("email"), emailField);
+                elements.put(By.name("password"), passwordField);
+                elements.put(By.tagName("button"), loginBtn);
                 
                 System.out.println("Page loaded successfully - all login form elements are interactable");
             } catch (Exception e) {
@@ -535,53 +697,39 @@ public class LoginPage {
         }
     }
 
+    // Single probe round trip - never shows when the permission was pre-granted
+    private boolean isNotificationGateShowing() {
+        return probe.snapshot().getState() == PageState.NOTIFICATION_GATE;
+    }
+
+    // JavaScript click that returns once the page reloaded or stopped changing
+    private void clickAndSettle(String name, WebElement element, Duration timeout) {
+        waits.settleAfter(name, () -> ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element),
+                PageWaits.DEFAULT_QUIET, timeout);
+    }
+
     // Method to check and handle notification dialog
     public boolean handleNotificationDialog() {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            
             // Check if notification dialog is still present
-            if (driver.getPageSource().contains("To proceed to the login page please allow")) {
+            if (isNotificationGateShowing()) {
                 System.out.println("Notification dialog still present, trying to handle...");
                 
                 // Try multiple approaches to handle the notification
-                String[] allowSelectors = {
-                    "//button[contains(text(), 'Allow')]",
-                    "//button[contains(text(), 'Allow notifications')]",
-                    "//*[contains(text(), 'Allow')]",
-                    "//button[contains(., 'Allow')]",
-                    "//*[contains(text(), 'Allow')]//ancestor::button"
-                };
-                
-                for (String selector : allowSelectors) {
-                    try {
-                        WebElement allowButton = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(selector)));
-                        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", allowButton);
-                        System.out.println("Clicked Allow using selector: " + selector);
-                        Thread.sleep(2000);
-                        
-                        // Try to find and click reload button
-                        String[] reloadSelectors = {
-                            "//button[contains(text(), 'Reload')]",
-                            "//*[contains(text(), 'Reload')]",
-                            "//button[contains(., 'Reload')]"
-                        };
-                        
-                        for (String reloadSelector : reloadSelectors) {
-                            try {
-                                WebElement reloadButton = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(reloadSelector)));
-                                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", reloadButton);
-                                System.out.println("Clicked Reload using selector: " + reloadSelector);
-                                Thread.sleep(3000);
-                                return true;
-                            } catch (Exception e) {
-                                // Continue to next selector
-                            }
-                        }
-                        return true;
-                    } catch (Exception e) {
-                        // Continue to next selector
+                MultiSelectorResolver.Match allow = resolver.resolve("notification.allow", DIALOG_ALLOW_SELECTORS,
+                        MultiSelectorResolver.Condition.CLICKABLE, Duration.ofSeconds(10));
+                if (allow != null) {
+                    clickAndSettle("allowClicked", allow.getElement(), Duration.ofSeconds(5));
+                    System.out.println("Clicked Allow using selector: " + allow.getSelector());
+                    
+                    // Try to find and click reload button
+                    MultiSelectorResolver.Match reload = resolver.resolve("notification.reload", DIALOG_RELOAD_SELECTORS,
+                            MultiSelectorResolver.Condition.CLICKABLE, Duration.ofSeconds(10));
+                    if (reload != null) {
+                        clickAndSettle("reloadClicked", reload.getElement(), Duration.ofSeconds(10));
+                        System.out.println("Clicked Reload using selector: " + reload.getSelector());
                     }
+                    return true;
                 }
             }
             return false;
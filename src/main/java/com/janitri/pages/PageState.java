@@ -0,0 +1,20 @@
+package com.janitri.pages;
+
+/**
+ * What the login page is currently showing, as classified by {@link PageStateProbe}.
+ */
+public enum PageState {
+    // "To proceed to the login page please allow notifications" gate is blocking the form
+    NOTIFICATION_GATE,
+    // Email, password and login button are visible and no message is shown; the button may
+    // still be disabled, the page enables it only once both fields are filled
+    LOGIN_FORM_READY,
+    // Field-level message such as "Email is required" or "Please enter a valid email"
+    VALIDATION_ERROR,
+    // Login was rejected, e.g. "Invalid credentials"
+    AUTH_ERROR,
+    // Browser left the login page, e.g. redirected to the dashboard
+    NAVIGATED_AWAY,
+    // Still loading or not recognisable
+    UNKNOWN
+}
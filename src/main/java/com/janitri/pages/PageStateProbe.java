@@ -0,0 +1,126 @@
+package com.janitri.pages;
+
+import com.janitri.base.TestConfig;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Classifies the login page with one lightweight in-browser script.
+ *
+ * Replaces the pattern of serializing the whole DOM with {@code getPageSource()} (often
+ * several times per check) just to look for a few substrings. Only the state, the relevant
+ * message text and the URL cross the wire.
+ */
+public class PageStateProbe {
+
+    static final String GATE_TEXT = "To proceed to the login page please allow";
+
+    private static final String PROBE_SCRIPT =
+            "var gateText = arguments[0], base = arguments[1], host = arguments[2];" +
+            "var href = location.href;" +
+            "var permission = typeof Notification === 'undefined' ? 'unsupported' : Notification.permission;" +
+            "function result(state, text) { return {state: state, text: text || '', url: href, permission: permission}; }" +
+            "function visible(el) {" +
+            "  var style = window.getComputedStyle(el);" +
+            "  if (style.display === 'none' || style.visibility === 'hidden') return false;" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  return rect.width > 0 || rect.height > 0;" +
+            "}" +
+            // Same rule as LoginPage.isOnLoginPage()
+            "if (href.indexOf(host) < 0 || (href.indexOf('login') < 0 && href !== base)) return result('NAVIGATED_AWAY');" +
+            "var body = document.body;" +
+            "var pageText = body ? body.innerText || '' : '';" +
+            "if (pageText.indexOf(gateText) >= 0 || (/notification/i.test(pageText) && /\\ballow\\b/i.test(pageText))) {" +
+            "  var line = pageText.split('\\n').filter(function (l) { return /notification|allow/i.test(l); })[0];" +
+            "  return result('NOTIFICATION_GATE', (line || gateText).trim());" +
+            "}" +
+            "var validation = /required|please enter|cannot be empty|valid email|email format/i;" +
+            "var auth = /invalid|incorrect|wrong|failed|not found|credentials|error/i;" +
+            "var candidates = document.querySelectorAll(" +
+            "  '[class*=error],[class*=alert],[class*=message],[class*=invalid],[class*=validation],[role=alert],p,span,small');" +
+            "var validationText = null;" +
+            "for (var i = 0; i < candidates.length; i++) {" +
+            "  var el = candidates[i];" +
+            "  var text = (el.innerText || '').trim();" +
+            "  if (!text || text.length > 200 || !visible(el)) continue;" +
+            "  if (validation.test(text)) { if (!validationText) validationText = text; continue; }" +
+            "  if (auth.test(text)) return result('AUTH_ERROR', text);" +
+            "}" +
+            "if (validationText) return result('VALIDATION_ERROR', validationText);" +
+            "var email = document.querySelector('input[name=email]');" +
+            "var password = document.querySelector('input[name=password]');" +
+            "var button = document.querySelector('button');" +
+            "if (email && password && button && visible(email) && visible(password) && visible(button))" +
+            "  return result('LOGIN_FORM_READY');" +
+            "return result('UNKNOWN');";
+
+    /**
+     * One classification of the page.
+     */
+    public static final class Snapshot {
+        private final PageState state;
+        private final String text;
+        private final String url;
+        private final String notificationPermission;
+
+        Snapshot(PageState state, String text, String url, String notificationPermission) {
+            this.state = state;
+            this.text = text;
+            this.url = url;
+            this.notificationPermission = notificationPermission;
+        }
+
+        public PageState getState() {
+            return state;
+        }
+
+        // Message relevant to the state (gate text, validation or auth error), empty otherwise
+        public String getText() {
+            return text;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        // "granted", "denied", "default" or "unsupported"
+        public String getNotificationPermission() {
+            return notificationPermission;
+        }
+
+        @Override
+        public String toString() {
+            return state + (text.isEmpty() ? "" : " \"" + text + "\"") + " @ " + url;
+        }
+    }
+
+    private final WebDriver driver;
+
+    public PageStateProbe(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public Snapshot snapshot() {
+        String base = TestConfig.baseUrl();
+        String host = URI.create(base).getHost();
+        try {
+            Object raw = ((JavascriptExecutor) driver).executeScript(PROBE_SCRIPT, GATE_TEXT, base, host);
+            if (raw instanceof Map) {
+                Map<?, ?> values = (Map<?, ?>) raw;
+                return new Snapshot(PageState.valueOf(String.valueOf(values.get("state"))),
+                        String.valueOf(values.get("text")), String.valueOf(values.get("url")),
+                        String.valueOf(values.get("permission")));
+            }
+        } catch (NoSuchSessionException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // Page navigating between documents
+        }
+        return new Snapshot(PageState.UNKNOWN, "", "", "unknown");
+    }
+}
@@ -0,0 +1,209 @@
+package com.janitri.reporting;
+
+import com.janitri.base.BaseTest;
+import com.janitri.base.TestConfig;
+import com.janitri.locators.MultiSelectorResolver;
+import com.janitri.waits.WaitBudget;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestClass;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streams one JSON line per finished test to {@code target/test-results.jsonl}.
+ *
+ * A record holds the test name, thread, time spent in {@code @BeforeMethod}, the test body
+ * and {@code @AfterMethod}, the wait budget the test used, the selector that matched for each
+ * element key and the outcome. It is written as soon as the last {@code @AfterMethod} of the
+ * test has run, so the outcome includes a failure raised by the wait budget in
+ * {@link BaseTest#tearDown(ITestResult)}. Tests skipped because setup failed are written when
+ * the skip is reported, without teardown time.
+ *
+ * Registered in testng.xml. {@code -Djanitri.results.file} moves the file and
+ * {@code -Djanitri.results.enabled=false} turns it off.
+ */
+public class JsonlResultReporter implements IInvokedMethodListener, ITestListener, ISuiteListener {
+
+    // Timing of the test that is currently running on a thread
+    private static final class Pending {
+        final long startedAtMillis = System.currentTimeMillis();
+        long stepStart;
+        long setupNanos;
+        long bodyNanos;
+        long teardownNanos;
+        long waitMillis;
+        Map<String, String> selectors = Collections.emptyMap();
+        ITestResult result;
+        int afterMethodsRun;
+    }
+
+    private final ThreadLocal<Pending> pending = new ThreadLocal<>();
+    private volatile JsonlResultWriter writer;
+    private String run;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!TestConfig.getBoolean("janitri.results.enabled", true)) {
+            return;
+        }
+        // The file is shared between runs, the run id tells them apart
+        run = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        String file = TestConfig.get("janitri.results.file", "target/test-results.jsonl");
+        try {
+            writer = new JsonlResultWriter(Paths.get(file));
+            System.out.println("Streaming test results to " + file);
+        } catch (IOException e) {
+            System.out.println("Could not open test result file " + file + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (writer == null) {
+            return;
+        }
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (!isPerTestStep(method)) {
+            // Suite, test and class level configuration is not part of any one test
+            return;
+        }
+        Pending current = pending.get();
+        if (current == null || current.result != null && !testMethod.isAfterMethodConfiguration()) {
+            // First step of a new test on this thread
+            current = new Pending();
+            pending.set(current);
+            MultiSelectorResolver.takeMatchedSelectors();
+        }
+        current.stepStart = System.nanoTime();
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Pending current = pending.get();
+        if (writer == null || current == null || !isPerTestStep(method)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - current.stepStart;
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (method.isTestMethod()) {
+            current.bodyNanos = elapsed;
+            current.result = testResult;
+            // The budget is ended in @AfterMethod, so read it while it still belongs to this test
+            current.waitMillis = WaitBudget.current().getUsedMillis();
+            current.selectors = MultiSelectorResolver.takeMatchedSelectors();
+            if (afterMethodCount(testResult) == 0) {
+                finish(current);
+            }
+        } else if (testMethod.isBeforeMethodConfiguration()) {
+            current.setupNanos += elapsed;
+        } else if (testMethod.isAfterMethodConfiguration() && current.result != null) {
+            current.teardownNanos += elapsed;
+            current.afterMethodsRun++;
+            if (current.afterMethodsRun >= afterMethodCount(current.result)) {
+                finish(current);
+            }
+        }
+    }
+
+    private static boolean isPerTestStep(IInvokedMethod method) {
+        ITestNGMethod testMethod = method.getTestMethod();
+        return method.isTestMethod() || testMethod.isBeforeMethodConfiguration()
+                || testMethod.isAfterMethodConfiguration();
+    }
+
+    // Number of @AfterMethod methods that run after each test of the class
+    private static int afterMethodCount(ITestResult result) {
+        if (result.getTestClass() instanceof ITestClass) {
+            return ((ITestClass) result.getTestClass()).getAfterTestMethods().length;
+        }
+        return 0;
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        Pending current = pending.get();
+        if (writer == null || current == null || current.result != null) {
+            // Skipped from the test body: written after teardown like any other test
+            return;
+        }
+        current.result = result;
+        finish(current);
+    }
+
+    private void finish(Pending current) {
+        pending.remove();
+        JsonlResultWriter out = writer;
+        if (out != null) {
+            out.append(toRecord(run, current));
+        }
+    }
+
+    private static Map<String, Object> toRecord(String run, Pending current) {
+        ITestResult result = current.result;
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("run", run);
+        record.put("test", BaseTest.testName(result.getMethod().getConstructorOrMethod().getMethod(),
+                result.getParameters()));
+        record.put("thread", Thread.currentThread().getName());
+        record.put("startedAt", current.startedAtMillis);
+        record.put("setupMs", millis(current.setupNanos));
+        record.put("bodyMs", millis(current.bodyNanos));
+        record.put("teardownMs", millis(current.teardownNanos));
+        record.put("waitMs", current.waitMillis);
+        record.put("selectors", current.selectors);
+        record.put("outcome", outcome(result.getStatus()));
+        Throwable error = result.getThrowable();
+        if (error != null) {
+            String message = String.valueOf(error.getMessage());
+            record.put("error", error.getClass().getSimpleName() + ": " + message.split("\\R", 2)[0]);
+        }
+        return record;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+
+    private static String outcome(int status) {
+        switch (status) {
+            case ITestResult.SUCCESS:
+                return "PASS";
+            case ITestResult.FAILURE:
+                return "FAIL";
+            case ITestResult.SKIP:
+                return "SKIP";
+            case ITestResult.SUCCESS_PERCENTAGE_FAILURE:
+                return "PASS_WITHIN_PERCENTAGE";
+            default:
+                return "UNKNOWN";
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        JsonlResultWriter current = writer;
+        if (current == null) {
+            return;
+        }
+        writer = null;
+        try {
+            current.close();
+        } catch (IOException e) {
+            System.out.println("Could not close test result file: " + e.getMessage());
+        }
+        System.out.println(String.format("Test results: %d records appended to %s (%d failed writes)",
+                current.getWritten(), current.getFile(), current.getFailedWrites()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.janitri.reporting;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Appends one JSON object per line to a results file.
+ *
+ * The file is opened in append mode and never rewritten, so several runs can share it and a
+ * dashboard can {@code tail -f} it. Each record is built in memory and written with a single
+ * flush, so a reader never sees half a line even when test threads finish at the same time.
+ */
+public class JsonlResultWriter implements Closeable {
+
+    private static final Json JSON = new Json();
+
+    private final Path file;
+    private final BufferedWriter out;
+    private long written;
+    private long failedWrites;
+    private boolean closed;
+
+    public JsonlResultWriter(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Writes the record as one line and flushes it. Returns false if the line was not written.
+     */
+    public synchronized boolean append(Map<String, Object> record) {
+        if (closed) {
+            failedWrites++;
+            return false;
+        }
+        StringBuilder line = new StringBuilder(256);
+        JSON.newOutput(line).setPrettyPrint(false).write(record);
+        try {
+            out.write(line.toString());
+            out.newLine();
+            out.flush();
+            written++;
+            return true;
+        } catch (IOException e) {
+            failedWrites++;
+            System.out.println("Could not append test result to " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized long getWritten() {
+        return written;
+    }
+
+    public synchronized long getFailedWrites() {
+        return failedWrites;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.janitri.scheduling;
+
+import com.janitri.base.TestConfig;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Orders test methods so the slowest ones start first.
+ *
+ * With {@code parallel="methods"} TestNG hands methods to free worker threads in list order.
+ * Started longest-first, the long tests (e.g. {@code testLoginWithInvalidEmail} walking its
+ * error selectors) run next to each other and the short ones fill the gaps at the end,
+ * instead of one thread still working through a slow test while the others are idle.
+ * Durations come from a {@link TestHistoryStore} that is updated at the end of every suite.
+ * Methods without history are treated as the longest known test, so they start early.
+ *
+ * With {@code -Djanitri.schedule.failFast=true} methods that failed in recent runs start
+ * before everything else, so a broken build shows up in the first seconds.
+ * Registered in testng.xml; {@code -Djanitri.schedule.enabled=false} keeps TestNG's order.
+ */
+public class DurationAwareScheduler implements IMethodInterceptor, ISuiteListener {
+
+    private TestHistoryStore history;
+
+    private synchronized TestHistoryStore history() {
+        if (history == null) {
+            history = new TestHistoryStore(
+                    Paths.get(TestConfig.get("janitri.schedule.file", ".janitri/test-history.properties")),
+                    TestConfig.getDouble("janitri.schedule.smoothing", 0.3));
+        }
+        return history;
+    }
+
+    private static boolean isEnabled() {
+        return TestConfig.getBoolean("janitri.schedule.enabled", true);
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!isEnabled() || methods.size() < 2) {
+            return methods;
+        }
+        // Several instances of one method (e.g. from a factory) stay together
+        Map<String, List<IMethodInstance>> byKey = new LinkedHashMap<>();
+        for (IMethodInstance method : methods) {
+            byKey.computeIfAbsent(key(method.getMethod()), k -> new ArrayList<>()).add(method);
+        }
+        boolean failFast = TestConfig.getBoolean("janitri.schedule.failFast", false);
+        List<String> order = order(new ArrayList<>(byKey.keySet()), history(), failFast,
+                TestConfig.getDouble("janitri.schedule.flakyThreshold", 0.1));
+
+        List<IMethodInstance> scheduled = new ArrayList<>(methods.size());
+        StringBuilder plan = new StringBuilder();
+        for (String key : order) {
+            scheduled.addAll(byKey.get(key));
+            if (plan.length() > 0) {
+                plan.append(", ");
+            }
+            plan.append(key.substring(key.indexOf('.') + 1));
+            if (history().hasHistory(key)) {
+                plan.append(String.format(" (%.0f ms)", history().getAverageMillis(key)));
+            }
+        }
+        System.out.println("Scheduled " + context.getName() + (failFast ? " failing-first, then" : "")
+                + " longest-first: " + plan);
+        return scheduled;
+    }
+
+    /**
+     * Orders test keys longest-first. With {@code failFast}, keys whose failure rate is at
+     * least {@code flakyThreshold} come first, most often failing first. Ties keep the
+     * original order.
+     */
+    public static List<String> order(List<String> keys, TestHistoryStore history, boolean failFast,
+                                     double flakyThreshold) {
+        double unknown = history.getLongestAverageMillis();
+        Map<String, Double> estimates = new LinkedHashMap<>();
+        for (String key : keys) {
+            estimates.put(key, history.hasHistory(key) ? history.getAverageMillis(key) : unknown);
+        }
+        Comparator<String> longestFirst =
+                Comparator.comparingDouble((String key) -> estimates.get(key)).reversed();
+
+        List<String> failing = new ArrayList<>();
+        List<String> rest = new ArrayList<>();
+        for (String key : keys) {
+            if (failFast && history.getFailureRate(key) >= flakyThreshold && history.hasHistory(key)) {
+                failing.add(key);
+            } else {
+                rest.add(key);
+            }
+        }
+        failing.sort(Comparator.comparingDouble((String key) -> history.getFailureRate(key)).reversed()
+                .thenComparing(longestFirst));
+        rest.sort(longestFirst);
+
+        List<String> ordered = new ArrayList<>(failing);
+        ordered.addAll(rest);
+        return ordered;
+    }
+
+    private static String key(ITestNGMethod method) {
+        return method.getRealClass().getSimpleName() + "." + method.getMethodName();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!isEnabled()) {
+            return;
+        }
+        TestHistoryStore store = history();
+        // Per method: total time of all its invocations, and whether any of them failed
+        Map<String, long[]> runs = new LinkedHashMap<>();
+        Set<ITestResult> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ISuiteResult suiteResult : suite.getResults().values()) {
+            ITestContext context = suiteResult.getTestContext();
+            List<ITestResult> results = new ArrayList<>();
+            results.addAll(context.getPassedTests().getAllResults());
+            results.addAll(context.getFailedTests().getAllResults());
+            results.addAll(context.getFailedButWithinSuccessPercentageTests().getAllResults());
+            for (ITestResult result : results) {
+                // Status is read here, not from the map: @AfterMethod may have failed a passed test
+                if (!seen.add(result) || result.getStatus() == ITestResult.SKIP) {
+                    continue;
+                }
+                long[] run = runs.computeIfAbsent(key(result.getMethod()), k -> new long[2]);
+                run[0] += Math.max(0, result.getEndMillis() - result.getStartMillis());
+                if (result.getStatus() == ITestResult.FAILURE) {
+                    run[1] = 1;
+                }
+            }
+        }
+        for (Map.Entry<String, long[]> run : runs.entrySet()) {
+            store.record(run.getKey(), run.getValue()[0], run.getValue()[1] == 1);
+        }
+        store.save();
+    }
+}
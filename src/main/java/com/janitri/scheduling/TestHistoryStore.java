@@ -0,0 +1,143 @@
+package com.janitri.scheduling;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Remembers how long each test method took and how often it failed in earlier runs.
+ *
+ * Both values are exponentially weighted moving averages, so one slow or failed run moves
+ * them without erasing the history, and a test that got faster or stopped failing catches
+ * up after a few runs. Keys are "Class.method"; data-driven methods are one entry with the
+ * total time of all their rows. Kept in a small properties file next to the selector ranking.
+ */
+public class TestHistoryStore {
+
+    private static final class Entry {
+        double averageMillis;
+        double failureRate;
+        long runs;
+
+        Entry(double averageMillis, double failureRate, long runs) {
+            this.averageMillis = averageMillis;
+            this.failureRate = failureRate;
+            this.runs = runs;
+        }
+    }
+
+    private final Path file;
+    private final double smoothing;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean dirty;
+
+    /**
+     * @param smoothing weight of the newest run, between 0 (ignore it) and 1 (only keep it)
+     */
+    public TestHistoryStore(Path file, double smoothing) {
+        this.file = file;
+        this.smoothing = Math.min(1.0, Math.max(0.01, smoothing));
+        load();
+    }
+
+    public synchronized void record(String key, long millis, boolean failed) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            // The first run is the whole history
+            entries.put(key, new Entry(millis, failed ? 1.0 : 0.0, 1));
+        } else {
+            entry.averageMillis += smoothing * (millis - entry.averageMillis);
+            entry.failureRate += smoothing * ((failed ? 1.0 : 0.0) - entry.failureRate);
+            entry.runs++;
+        }
+        dirty = true;
+    }
+
+    public synchronized boolean hasHistory(String key) {
+        return entries.containsKey(key);
+    }
+
+    // Average duration, 0 for tests that never ran
+    public synchronized double getAverageMillis(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? 0.0 : entry.averageMillis;
+    }
+
+    // Share of recent runs that failed, 0 for tests that never ran
+    public synchronized double getFailureRate(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? 0.0 : entry.failureRate;
+    }
+
+    public synchronized long getRuns(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? 0 : entry.runs;
+    }
+
+    public synchronized double getLongestAverageMillis() {
+        double longest = 0.0;
+        for (Entry entry : entries.values()) {
+            longest = Math.max(longest, entry.averageMillis);
+        }
+        return longest;
+    }
+
+    /**
+     * Writes the store to disk if anything was recorded.
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        Properties properties = new Properties();
+        for (Map.Entry<String, Entry> test : entries.entrySet()) {
+            Entry entry = test.getValue();
+            properties.setProperty(test.getKey(),
+                    String.format(Locale.ROOT, "%.1f,%.4f,%d", entry.averageMillis, entry.failureRate, entry.runs));
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "test-history", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Test durations and failure rates - generated, safe to delete");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            System.out.println("Could not save test history to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.out.println("Could not read test history from " + file + ": " + e.getMessage());
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String[] value = properties.getProperty(key).split(",");
+            if (value.length != 3) {
+                continue;
+            }
+            try {
+                entries.put(key, new Entry(Double.parseDouble(value[0]), Double.parseDouble(value[1]),
+                        Long.parseLong(value[2])));
+            } catch (NumberFormatException e) {
+                // Skip corrupt line
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.janitri.server;
+
+import com.janitri.base.TestConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded stand-in for the dev-dash login page.
+ *
+ * Serves a replica of the login screen (notification permission gate with Allow/Reload,
+ * email and password fields, eye toggle, client-side validation and an invalid-credentials
+ * message) plus a JSON login endpoint and a dashboard to land on after a successful login.
+ * Every response can be delayed by a fixed latency plus random jitter, so timing-sensitive
+ * code can be exercised without the shared dev environment.
+ *
+ * Select it with {@code -Djanitri.target=local}; the suite then points {@code janitri.baseUrl}
+ * at this server.
+ */
+public class LoginStubServer {
+
+    public static final String LOGIN_ENDPOINT = "/api/auth/login";
+
+    private static final Json JSON = new Json();
+    private static LoginStubServer shared;
+    private static String previousBaseUrl;
+
+    private final int port;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final String validEmail;
+    private final String validPassword;
+    private final boolean notificationGate;
+
+    private final LongAdder requests = new LongAdder();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param port             port to bind on the loopback interface, 0 for any free port
+     * @param latencyMillis    delay added to every response
+     * @param jitterMillis     random delay in {@code [-jitter, +jitter]} added on top of the latency
+     * @param validEmail       email accepted by the login endpoint
+     * @param validPassword    password accepted by the login endpoint
+     * @param notificationGate show the notification permission gate until the permission is granted
+     */
+    public LoginStubServer(int port, long latencyMillis, long jitterMillis,
+                           String validEmail, String validPassword, boolean notificationGate) {
+        this.port = port;
+        this.latencyMillis = Math.max(0, latencyMillis);
+        this.jitterMillis = Math.max(0, jitterMillis);
+        this.validEmail = validEmail;
+        this.validPassword = validPassword;
+        this.notificationGate = notificationGate;
+    }
+
+    public static LoginStubServer fromConfig() {
+        return new LoginStubServer(
+                TestConfig.getInt("janitri.stub.port", 0),
+                TestConfig.getLong("janitri.stub.latencyMs", 0),
+                TestConfig.getLong("janitri.stub.jitterMs", 0),
+                TestConfig.get("janitri.stub.email", "test@janitri.com"),
+                TestConfig.get("janitri.stub.password", "testpassword123"),
+                TestConfig.getBoolean("janitri.stub.notificationGate", true));
+    }
+
+    public static boolean isLocalTargetEnabled() {
+        return "local".equalsIgnoreCase(TestConfig.get("janitri.target", "remote"));
+    }
+
+    /**
+     * Starts the shared stand-in when {@code janitri.target=local} and points the base URL at it.
+     * Safe to call more than once.
+     */
+    public static synchronized void startIfConfigured() {
+        if (shared != null || !isLocalTargetEnabled()) {
+            return;
+        }
+        LoginStubServer server = fromConfig();
+        server.start();
+        previousBaseUrl = System.getProperty("janitri.baseUrl");
+        System.setProperty("janitri.baseUrl", server.baseUrl());
+        shared = server;
+    }
+
+    public static synchronized void stopShared() {
+        if (shared == null) {
+            return;
+        }
+        shared.stop();
+        shared = null;
+        if (previousBaseUrl == null) {
+            System.clearProperty("janitri.baseUrl");
+        } else {
+            System.setProperty("janitri.baseUrl", previousBaseUrl);
+        }
+    }
+
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start login stub server on port " + port, e);
+        }
+        // Delayed responses must not hold up each other when tests run in parallel
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "login-stub-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handlePage);
+        server.createContext(LOGIN_ENDPOINT, this::handleLogin);
+        server.start();
+        System.out.println("Login stub server started at " + baseUrl() +
+                " (latency " + latencyMillis + " ms, jitter " + jitterMillis + " ms)");
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        System.out.println("Login stub server stopped after " + requests.sum() + " request(s)");
+    }
+
+    public String baseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Login stub server is not running");
+        }
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    private void handlePage(HttpExchange exchange) throws IOException {
+        try {
+            requests.increment();
+            simulateLatency();
+            String path = exchange.getRequestURI().getPath();
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "text/plain", "Method not allowed");
+            } else if ("/".equals(path) || "/login".equals(path)) {
+                Map<String, Object> config = new HashMap<>();
+                config.put("loginEndpoint", LOGIN_ENDPOINT);
+                config.put("notificationGate", notificationGate);
+                String page = resource("stub/login.html").replace("__STUB_CONFIG__", JSON.toJson(config));
+                send(exchange, 200, "text/html; charset=utf-8", page);
+            } else if ("/dashboard".equals(path)) {
+                send(exchange, 200, "text/html; charset=utf-8", resource("stub/dashboard.html"));
+            } else {
+                send(exchange, 404, "text/plain", "Not found");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleLogin(HttpExchange exchange) throws IOException {
+        try {
+            requests.increment();
+            simulateLatency();
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "application/json", JSON.toJson(Map.of("message", "Method not allowed")));
+                return;
+            }
+            Map<String, Object> credentials;
+            try (InputStream body = exchange.getRequestBody()) {
+                credentials = JSON.toType(new String(body.readAllBytes(), StandardCharsets.UTF_8), Map.class);
+            } catch (Exception e) {
+                send(exchange, 400, "application/json", JSON.toJson(Map.of("message", "Malformed request")));
+                return;
+            }
+            if (credentials != null && validEmail.equals(credentials.get("email"))
+                    && validPassword.equals(credentials.get("password"))) {
+                send(exchange, 200, "application/json",
+                        JSON.toJson(Map.of("token", "stub-token", "redirect", "/dashboard")));
+            } else {
+                send(exchange, 401, "application/json", JSON.toJson(Map.of("message", "Invalid credentials")));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void simulateLatency() {
+        long delay = latencyMillis;
+        if (jitterMillis > 0) {
+            delay += ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1);
+        }
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = LoginStubServer.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("Missing resource " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
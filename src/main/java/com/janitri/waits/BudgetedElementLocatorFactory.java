@@ -0,0 +1,87 @@
+package com.janitri.waits;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+import org.openqa.selenium.support.ui.FluentWait;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * PageFactory locators that replace the session-wide implicit wait.
+ *
+ * A lookup that finds the element right away costs one command and is not charged. Only a
+ * lookup that has to wait polls for up to {@code timeout}, drawn from the {@link WaitBudget}
+ * of the current test.
+ */
+public class BudgetedElementLocatorFactory implements ElementLocatorFactory {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final SearchContext context;
+    private final Duration timeout;
+
+    public BudgetedElementLocatorFactory(SearchContext context, Duration timeout) {
+        this.context = context;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public ElementLocator createLocator(Field field) {
+        return createLocator(new Annotations(field).buildBy());
+    }
+
+    // For page objects wired without reflection (generated binders)
+    public ElementLocator createLocator(By by) {
+        return new BudgetedElementLocator(context, by, timeout);
+    }
+
+    static class BudgetedElementLocator implements ElementLocator {
+        private final SearchContext context;
+        private final By by;
+        private final Duration timeout;
+
+        BudgetedElementLocator(SearchContext context, By by, Duration timeout) {
+            this.context = context;
+            this.by = by;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public WebElement findElement() {
+            List<WebElement> found = context.findElements(by);
+            if (!found.isEmpty()) {
+                return found.get(0);
+            }
+            String call = "find(" + by + ")";
+            return WaitBudget.current().run(call, timeout, granted -> {
+                try {
+                    return new FluentWait<>(context)
+                            .withTimeout(granted)
+                            .pollingEvery(POLL_INTERVAL)
+                            .ignoring(NoSuchElementException.class)
+                            .until(c -> c.findElement(by));
+                } catch (TimeoutException e) {
+                    throw new NoSuchElementException("Cannot locate " + by + " within " + granted.toMillis() + " ms");
+                }
+            });
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            return context.findElements(by);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " '" + by + "'";
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.janitri.waits;
+
+import com.janitri.metrics.CommandLatency;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Event-driven replacements for fixed {@code Thread.sleep} calls.
+ *
+ * The in-page waits run as async scripts backed by a MutationObserver and call back the
+ * moment their condition holds, so a fast page costs milliseconds instead of a fixed
+ * delay. Every wait returns a {@link WaitResult} with the time it actually took, which
+ * is also printed to the console.
+ *
+ * Timeouts are requests: each wait is granted at most what the current test's
+ * {@link WaitBudget} allows and is charged the time it actually took.
+ */
+public class PageWaits {
+
+    // How long the DOM must stay untouched before the page counts as settled
+    public static final Duration DEFAULT_QUIET = Duration.ofMillis(300);
+
+    // Async scripts give up on their own before the session script timeout kicks in
+    private static final long MAX_SCRIPT_WAIT_MILLIS = 55_000;
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private static final String DOM_SETTLED_SCRIPT =
+            "var quiet = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];" +
+            "var start = performance.now(), last = start, observer, finished = false;" +
+            "function finish(ok) {" +
+            "  if (finished) return; finished = true;" +
+            "  if (observer) observer.disconnect();" +
+            "  done(ok);" +
+            "}" +
+            "observer = new MutationObserver(function () { last = performance.now(); });" +
+            "observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "(function check() {" +
+            "  var now = performance.now();" +
+            "  if (document.readyState === 'complete' && now - last >= quiet) return finish(true);" +
+            "  if (now - start >= timeout) return finish(false);" +
+            "  setTimeout(check, Math.max(10, Math.min(quiet - (now - last), 50)));" +
+            "})();";
+
+    private static final String ATTRIBUTE_CHANGED_SCRIPT =
+            "var el = arguments[0], name = arguments[1], from = arguments[2], timeout = arguments[3];" +
+            "var done = arguments[arguments.length - 1];" +
+            "if (el.getAttribute(name) !== from) return done(el.getAttribute(name));" +
+            "var timer, observer = new MutationObserver(function () {" +
+            "  if (el.getAttribute(name) !== from) {" +
+            "    observer.disconnect(); clearTimeout(timer); done(el.getAttribute(name));" +
+            "  }" +
+            "});" +
+            "observer.observe(el, {attributes: true, attributeFilter: [name]});" +
+            "timer = setTimeout(function () { observer.disconnect(); done(null); }, timeout);";
+
+    private static final String URL_CHANGED_SCRIPT =
+            "var from = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];" +
+            "if (location.href !== from) return done(location.href);" +
+            "var finished = false, timer;" +
+            "function finish(value) {" +
+            "  if (finished) return; finished = true;" +
+            "  clearTimeout(timer); observer.disconnect();" +
+            "  window.removeEventListener('popstate', check); window.removeEventListener('hashchange', check);" +
+            "  done(value);" +
+            "}" +
+            "function check() { if (location.href !== from) finish(location.href); }" +
+            // SPA routers change the URL via history.pushState, which fires no event - DOM updates follow it
+            "var observer = new MutationObserver(check);" +
+            "observer.observe(document, {childList: true, subtree: true});" +
+            "window.addEventListener('popstate', check); window.addEventListener('hashchange', check);" +
+            "timer = setTimeout(function () { finish(null); }, timeout);";
+
+    private static final String MARK_DOCUMENT_SCRIPT =
+            "window.__janitriWaitMarker = true;" +
+            "window.__janitriUnloading = false;" +
+            "window.__janitriLastMutation = performance.now();" +
+            // beforeunload fires as soon as a navigation starts, while the old document is still quiet
+            "window.addEventListener('beforeunload', function () { window.__janitriUnloading = true; });" +
+            "if (window.__janitriObserver) window.__janitriObserver.disconnect();" +
+            "window.__janitriObserver = new MutationObserver(function () {" +
+            "  window.__janitriLastMutation = performance.now();" +
+            "});" +
+            "window.__janitriObserver.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});";
+
+    private static final String SETTLE_STATE_SCRIPT =
+            "if (!window.__janitriWaitMarker) return document.readyState === 'complete' ? 'navigated' : 'loading';" +
+            "if (window.__janitriUnloading) return 'loading';" +
+            "if (performance.now() - window.__janitriLastMutation < arguments[0]) return 'busy';" +
+            "window.__janitriObserver.disconnect();" +
+            "return 'settled';";
+
+    private final WebDriver driver;
+
+    public PageWaits(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Waits until the document has finished loading and no DOM mutation happened for {@code quiet}.
+     */
+    public WaitResult domSettled(Duration quiet, Duration timeout) {
+        String name = "domSettled(" + quiet.toMillis() + "ms)";
+        Duration granted = WaitBudget.current().grant(name, timeout);
+        long start = System.nanoTime();
+        Object result = runAsync(DOM_SETTLED_SCRIPT, quiet.toMillis(), clamp(granted));
+        return report(new WaitResult(name, Boolean.TRUE.equals(result), elapsedMillis(start), null));
+    }
+
+    /**
+     * Waits until {@code attribute} of the element differs from {@code fromValue}.
+     * Returns immediately if it already does, so there is no race with the triggering action.
+     */
+    public WaitResult attributeChanged(WebElement element, String attribute, String fromValue, Duration timeout) {
+        String name = "attributeChanged(" + attribute + ")";
+        Duration granted = WaitBudget.current().grant(name, timeout);
+        long start = System.nanoTime();
+        Object result = runAsync(ATTRIBUTE_CHANGED_SCRIPT, element, attribute, fromValue, clamp(granted));
+        return report(new WaitResult(name, result != null,
+                elapsedMillis(start), result == null ? null : attribute + "=" + result));
+    }
+
+    /**
+     * Waits until the page URL differs from {@code fromUrl}, covering both client-side
+     * routing and full navigations.
+     */
+    public WaitResult urlChanged(String fromUrl, Duration timeout) {
+        Duration granted = WaitBudget.current().grant("urlChanged", timeout);
+        long start = System.nanoTime();
+        long deadline = start + granted.toNanos();
+        while (true) {
+            long remaining = (deadline - System.nanoTime()) / 1_000_000;
+            Object result = remaining <= 0 ? null : runAsync(URL_CHANGED_SCRIPT, fromUrl, clamp(Duration.ofMillis(remaining)));
+            // A full navigation unloads the document and aborts the script, so confirm with the driver
+            String current = currentUrl();
+            if (result != null || (current != null && !Objects.equals(current, fromUrl))) {
+                return report(new WaitResult("urlChanged", true, elapsedMillis(start),
+                        result != null ? String.valueOf(result) : current));
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return report(new WaitResult("urlChanged", false, elapsedMillis(start), null));
+            }
+            pause();
+        }
+    }
+
+    /**
+     * Runs an action that may either reload the page or update it in place, then waits
+     * for whichever happens: a new document that finished loading, or the current
+     * document going quiet for {@code quiet}.
+     */
+    public WaitResult settleAfter(String name, Runnable action, Duration quiet, Duration timeout) {
+        Duration granted = WaitBudget.current().grant(name, timeout);
+        execute(MARK_DOCUMENT_SCRIPT);
+        long start = System.nanoTime();
+        action.run();
+        long deadline = start + granted.toNanos();
+        String state = null;
+        while (System.nanoTime() - deadline < 0) {
+            state = String.valueOf(execute(SETTLE_STATE_SCRIPT, quiet.toMillis()));
+            if ("navigated".equals(state) || "settled".equals(state)) {
+                break;
+            }
+            pause();
+        }
+        boolean satisfied = "navigated".equals(state) || "settled".equals(state);
+        return report(new WaitResult(name, satisfied, elapsedMillis(start), state));
+    }
+
+    /**
+     * {@link WebDriverWait} for an arbitrary condition, with the timeout drawn from the budget.
+     * Throws {@link org.openqa.selenium.TimeoutException} like a plain WebDriverWait.
+     */
+    public <T> T until(String name, Function<? super WebDriver, T> condition, Duration timeout) {
+        return WaitBudget.current().run(name, timeout, granted -> new WebDriverWait(driver, granted).until(condition));
+    }
+
+    private Object runAsync(String script, Object... args) {
+        try {
+            return ((JavascriptExecutor) driver).executeAsyncScript(script, args);
+        } catch (NoSuchSessionException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // Document unloaded while waiting, or script timeout
+            return null;
+        }
+    }
+
+    private Object execute(String script, Object... args) {
+        try {
+            return ((JavascriptExecutor) driver).executeScript(script, args);
+        } catch (NoSuchSessionException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // Page in the middle of navigating
+            return "loading";
+        }
+    }
+
+    private String currentUrl() {
+        try {
+            return driver.getCurrentUrl();
+        } catch (NoSuchSessionException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+    private static long clamp(Duration timeout) {
+        return Math.max(0, Math.min(timeout.toMillis(), MAX_SCRIPT_WAIT_MILLIS));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static WaitResult report(WaitResult result) {
+        System.out.println(result);
+        CommandLatency.shared().recordWait(result.getName(), result.getElapsedMillis());
+        WaitBudget.current().charge(result.getName(), result.getElapsedMillis());
+        return result;
+    }
+}
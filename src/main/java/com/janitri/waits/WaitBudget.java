@@ -0,0 +1,146 @@
+package com.janitri.waits;
+
+import com.janitri.base.TestConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Caps the total time one test may spend waiting.
+ *
+ * Every wait in the framework (page waits, fallback locator resolution, element lookups)
+ * asks the budget of the current test thread for a timeout before it starts and is charged
+ * the time it actually took afterwards. A single wait never gets more than the per-call
+ * ceiling or what is left of the total. Once the total is used up the next wait fails
+ * with a {@link WaitBudgetExceededException} listing which calls consumed the time.
+ *
+ * Configure with {@code -Djanitri.wait.budgetSeconds} (default 60) and
+ * {@code -Djanitri.wait.perCallSeconds} (default 15). A budget belongs to one thread.
+ */
+public final class WaitBudget {
+
+    private static final ThreadLocal<WaitBudget> CURRENT = ThreadLocal.withInitial(() -> fromConfig("unbound"));
+
+    private static final class Entry {
+        int calls;
+        long totalMillis;
+        long maxMillis;
+    }
+
+    private final String owner;
+    private final long totalMillis;
+    private final long perCallMillis;
+    private final Map<String, Entry> ledger = new LinkedHashMap<>();
+    private long usedMillis;
+    private WaitBudgetExceededException exhaustion;
+
+    public WaitBudget(String owner, Duration total, Duration perCall) {
+        this.owner = owner;
+        this.totalMillis = total.toMillis();
+        this.perCallMillis = perCall.toMillis();
+    }
+
+    public static WaitBudget fromConfig(String owner) {
+        return new WaitBudget(owner,
+                Duration.ofSeconds(TestConfig.getLong("janitri.wait.budgetSeconds", 60)),
+                Duration.ofSeconds(TestConfig.getLong("janitri.wait.perCallSeconds", 15)));
+    }
+
+    /**
+     * Starts a fresh budget for the test running on the calling thread.
+     */
+    public static WaitBudget begin(String owner) {
+        WaitBudget budget = fromConfig(owner);
+        CURRENT.set(budget);
+        return budget;
+    }
+
+    /**
+     * Budget of the calling thread. Threads that never called {@link #begin} get a
+     * default budget on first use.
+     */
+    public static WaitBudget current() {
+        return CURRENT.get();
+    }
+
+    public static WaitBudget end() {
+        WaitBudget budget = CURRENT.get();
+        CURRENT.remove();
+        return budget;
+    }
+
+    /**
+     * Timeout the named call may use: the requested timeout, capped by the per-call ceiling
+     * and the remaining budget.
+     *
+     * @throws WaitBudgetExceededException if nothing is left
+     */
+    public Duration grant(String call, Duration requested) {
+        long remaining = totalMillis - usedMillis;
+        if (remaining <= 0) {
+            if (exhaustion == null) {
+                exhaustion = new WaitBudgetExceededException(describe(call));
+            }
+            throw exhaustion;
+        }
+        return Duration.ofMillis(Math.max(0, Math.min(requested.toMillis(), Math.min(perCallMillis, remaining))));
+    }
+
+    public void charge(String call, long elapsedMillis) {
+        Entry entry = ledger.computeIfAbsent(call, k -> new Entry());
+        entry.calls++;
+        entry.totalMillis += elapsedMillis;
+        entry.maxMillis = Math.max(entry.maxMillis, elapsedMillis);
+        usedMillis += elapsedMillis;
+    }
+
+    /**
+     * Runs a wait with a granted timeout and charges the time it took, also when it fails.
+     */
+    public <T> T run(String call, Duration requested, Function<Duration, T> wait) {
+        Duration granted = grant(call, requested);
+        long start = System.nanoTime();
+        try {
+            return wait.apply(granted);
+        } finally {
+            charge(call, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    public long getUsedMillis() {
+        return usedMillis;
+    }
+
+    public long getRemainingMillis() {
+        return Math.max(0, totalMillis - usedMillis);
+    }
+
+    public boolean isExhausted() {
+        return exhaustion != null || usedMillis >= totalMillis;
+    }
+
+    // Exception for an exhausted budget, whether or not a caller swallowed the original one
+    public WaitBudgetExceededException getExhaustion() {
+        return exhaustion != null ? exhaustion : new WaitBudgetExceededException(describe(null));
+    }
+
+    private String describe(String blockedCall) {
+        StringBuilder message = new StringBuilder();
+        message.append(String.format("Wait budget of %d ms exhausted in %s (used %d ms)", totalMillis, owner, usedMillis));
+        if (blockedCall != null) {
+            message.append(" when ").append(blockedCall).append(" asked for more");
+        }
+        message.append(". Time by call:");
+        List<Map.Entry<String, Entry>> entries = new ArrayList<>(ledger.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().totalMillis, a.getValue().totalMillis));
+        for (Map.Entry<String, Entry> e : entries) {
+            message.append(String.format("%n  %-45s %3dx %7d ms (max %d ms)",
+                    e.getKey(), e.getValue().calls, e.getValue().totalMillis, e.getValue().maxMillis));
+        }
+        return message.toString();
+    }
+}
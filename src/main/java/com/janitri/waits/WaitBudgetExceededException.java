@@ -0,0 +1,12 @@
+package com.janitri.waits;
+
+/**
+ * Thrown when a test has used up its {@link WaitBudget}. The message lists the calls that
+ * consumed the budget, largest first.
+ */
+public class WaitBudgetExceededException extends RuntimeException {
+
+    public WaitBudgetExceededException(String message) {
+        super(message);
+    }
+}
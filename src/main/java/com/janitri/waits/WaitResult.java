@@ -0,0 +1,41 @@
+package com.janitri.waits;
+
+/**
+ * Outcome of a {@link PageWaits} wait: whether the condition held and how long it took.
+ */
+public final class WaitResult {
+    private final String name;
+    private final boolean satisfied;
+    private final long elapsedMillis;
+    private final String detail;
+
+    WaitResult(String name, boolean satisfied, long elapsedMillis, String detail) {
+        this.name = name;
+        this.satisfied = satisfied;
+        this.elapsedMillis = elapsedMillis;
+        this.detail = detail;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isSatisfied() {
+        return satisfied;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    // Extra information such as the new URL or attribute value
+    public String getDetail() {
+        return detail;
+    }
+
+    @Override
+    public String toString() {
+        return "[wait] " + name + (satisfied ? " satisfied" : " timed out") + " after " + elapsedMillis + " ms"
+                + (detail == null || detail.isEmpty() ? "" : " (" + detail + ")");
+    }
+}
@@ -0,0 +1,76 @@
+package benchmarks;
+
+import com.janitri.driver.BrowserContexts;
+import com.janitri.driver.ChromeSessionFactory;
+import com.janitri.driver.SharedChromeService;
+import com.janitri.metrics.BrowserMetrics;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares Chrome resident memory per session with one Chrome process per session and with
+ * one browser context per session inside a shared Chrome.
+ *
+ * Usage:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=benchmarks.BrowserContextBenchmark -Dexec.args="1 4 8"
+ * where the arguments are the numbers of concurrent sessions to measure. Every session is
+ * sitting on the login page when memory is read.
+ */
+public class BrowserContextBenchmark {
+
+    public static void main(String[] args) {
+        List<Integer> counts = new ArrayList<>();
+        for (String arg : args) {
+            counts.add(Integer.parseInt(arg));
+        }
+        if (counts.isEmpty()) {
+            counts = List.of(1, 4, 8);
+        }
+        // Keep every context in one Chrome so the per-session cost is not hidden by extra hosts
+        System.setProperty("janitri.browserContexts.perBrowser", String.valueOf(counts.stream().max(Integer::compare).get()));
+
+        List<String> rows = new ArrayList<>();
+        try {
+            for (String mode : List.of("process", "context")) {
+                System.setProperty("janitri.browserContexts.enabled", String.valueOf("context".equals(mode)));
+                for (int sessions : counts) {
+                    System.out.println("=== " + mode + ", " + sessions + " session(s) ===");
+                    rows.add(measure(mode, sessions));
+                }
+            }
+        } finally {
+            System.clearProperty("janitri.browserContexts.enabled");
+            System.clearProperty("janitri.browserContexts.perBrowser");
+            SharedChromeService.shutdown();
+        }
+
+        System.out.println("\nmode    | sessions | Chrome RSS MB | RSS/session MB | sessions/GB");
+        System.out.println("--------+----------+---------------+----------------+------------");
+        rows.forEach(System.out::println);
+    }
+
+    private static String measure(String mode, int sessions) {
+        long baselineRss = BrowserMetrics.chromeRssKb();
+        List<WebDriver> drivers = new ArrayList<>();
+        try {
+            for (int i = 0; i < sessions; i++) {
+                drivers.add(ChromeSessionFactory.createSession());
+            }
+            long rss = BrowserMetrics.chromeRssKb();
+            if (rss < 0) {
+                return String.format("%-7s | %8d | %13s | %14s | %10s", mode, sessions, "n/a", "n/a", "n/a");
+            }
+            double totalMb = (rss - baselineRss) / 1024.0;
+            double perSession = totalMb / sessions;
+            return String.format("%-7s | %8d | %13.0f | %14.0f | %10.1f", mode, sessions, totalMb, perSession,
+                    1024.0 / perSession);
+        } finally {
+            drivers.forEach(WebDriver::quit);
+            // Host Chromes count towards the context mode, so they go with their sessions
+            BrowserContexts.shutdownShared();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import com.janitri.base.TestConfig;
+import com.janitri.driver.ChromeSessionFactory;
+import com.janitri.metrics.BrowserMetrics;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the full and lean execution profiles: page-load time of the login page and
+ * Chrome resident memory per session.
+ *
+ * Usage:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=benchmarks.LeanProfileBenchmark -Dexec.args="3 5"
+ * where the arguments are the number of concurrent sessions and page loads per session.
+ */
+public class LeanProfileBenchmark {
+
+    public static void main(String[] args) {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int loads = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        List<String> rows = new ArrayList<>();
+        for (String profile : List.of("full", "lean")) {
+            System.setProperty("janitri.profile", profile);
+            System.out.println("=== Profile: " + profile + " ===");
+
+            long baselineRss = BrowserMetrics.chromeRssKb();
+            List<WebDriver> drivers = new ArrayList<>();
+            List<Double> loadTimes = new ArrayList<>();
+            try {
+                for (int i = 0; i < sessions; i++) {
+                    drivers.add(ChromeSessionFactory.createSession());
+                }
+                for (int i = 0; i < loads; i++) {
+                    for (WebDriver driver : drivers) {
+                        driver.get(TestConfig.baseUrl());
+                        loadTimes.add(BrowserMetrics.pageLoadMillis(driver));
+                    }
+                }
+                long rss = BrowserMetrics.chromeRssKb();
+                loadTimes.sort(Double::compare);
+                rows.add(String.format("%-7s | %12.0f | %12.0f | %15s", profile,
+                        average(loadTimes), loadTimes.get(loadTimes.size() / 2),
+                        rss < 0 ? "n/a" : String.valueOf((rss - baselineRss) / 1024 / sessions)));
+            } finally {
+                drivers.forEach(WebDriver::quit);
+            }
+        }
+        System.clearProperty("janitri.profile");
+
+        System.out.println("\nprofile | avg load ms  | p50 load ms  | RSS/session MB");
+        System.out.println("--------+--------------+--------------+----------------");
+        rows.forEach(System.out::println);
+    }
+
+    private static double average(List<Double> values) {
+        return values.stream().mapToDouble(Double::doubleValue).average().orElse(-1);
+    }
+}
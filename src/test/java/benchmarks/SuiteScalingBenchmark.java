@@ -0,0 +1,54 @@
+package benchmarks;
+
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.xml.XmlSuite;
+import tests.LoginPageTests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs LoginPageTests at several thread counts against the same target and prints the
+ * suite duration for each, to show how the suite scales with parallel=methods.
+ *
+ * Usage:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=benchmarks.SuiteScalingBenchmark -Dexec.args="1 2 4 8"
+ */
+public class SuiteScalingBenchmark {
+
+    public static void main(String[] args) {
+        List<Integer> threadCounts = new ArrayList<>();
+        for (String arg : args) {
+            threadCounts.add(Integer.parseInt(arg));
+        }
+        if (threadCounts.isEmpty()) {
+            threadCounts = List.of(1, 2, 4, 8);
+        }
+
+        List<String> rows = new ArrayList<>();
+        for (int threads : threadCounts) {
+            TestListenerAdapter results = new TestListenerAdapter();
+            TestNG testng = new TestNG();
+            testng.setTestClasses(new Class[]{LoginPageTests.class});
+            testng.setParallel(XmlSuite.ParallelMode.METHODS);
+            testng.setThreadCount(threads);
+            testng.setUseDefaultListeners(false);
+            testng.addListener(results);
+
+            System.out.println("=== Running suite with " + threads + " thread(s) ===");
+            long start = System.nanoTime();
+            testng.run();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            rows.add(String.format("%7d | %10.1f | %6d | %6d | %7d", threads, elapsedMillis / 1000.0,
+                    results.getPassedTests().size(), results.getFailedTests().size(),
+                    results.getSkippedTests().size()));
+        }
+
+        System.out.println("\nthreads | duration s | passed | failed | skipped");
+        System.out.println("--------+------------+--------+--------+--------");
+        rows.forEach(System.out::println);
+    }
+}
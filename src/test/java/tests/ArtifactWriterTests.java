@@ -0,0 +1,66 @@
+package tests;
+
+import com.janitri.artifacts.ArtifactWriter;
+import com.janitri.artifacts.FailureSnapshot;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+public class ArtifactWriterTests {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G'};
+
+    private static FailureSnapshot snapshot(String testName) {
+        return new FailureSnapshot(testName, new AssertionError("expected login to fail"))
+                .withPage("http://127.0.0.1/login", "Login", "AUTH_ERROR \"Invalid credentials\"",
+                        Base64.getEncoder().encodeToString(PNG), "<html><body>Login</body></html>",
+                        List.of("SEVERE console error"));
+    }
+
+    @Test(description = "Draining writes every queued snapshot and an index per test")
+    public void testDrainWritesArtifactsAndIndex() throws Exception {
+        Path runDir = Files.createTempDirectory("artifacts");
+        ArtifactWriter writer = new ArtifactWriter(runDir, 2, Duration.ofSeconds(5));
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(writer.submit(snapshot("LoginPageTests.testInvalid[" + i + "]")));
+        }
+        Assert.assertTrue(writer.drain(Duration.ofSeconds(10)), "Writer should finish within the timeout");
+
+        Assert.assertEquals(writer.getWritten(), 5);
+        List<Path> dirs;
+        try (Stream<Path> list = Files.list(runDir)) {
+            dirs = list.filter(Files::isDirectory).sorted().collect(Collectors.toList());
+        }
+        Assert.assertEquals(dirs.size(), 5);
+        Path first = dirs.get(0);
+        Assert.assertEquals(first.getFileName().toString(), "001-LoginPageTests.testInvalid_0_");
+        Assert.assertEquals(Files.readAllBytes(first.resolve("screenshot.png")), PNG);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(first.resolve("dom.html.gz")))) {
+            Assert.assertEquals(new String(in.readAllBytes(), StandardCharsets.UTF_8), "<html><body>Login</body></html>");
+        }
+        Assert.assertTrue(Files.readString(first.resolve("failure.json")).contains("expected login to fail"));
+        String index = Files.readString(runDir.resolve("index.json"));
+        Assert.assertTrue(index.contains("LoginPageTests.testInvalid[4]"), "Index should list every test: " + index);
+    }
+
+    @Test(description = "Snapshots submitted after draining are dropped, not lost silently")
+    public void testSubmitAfterDrainIsDropped() throws Exception {
+        ArtifactWriter writer = new ArtifactWriter(Files.createTempDirectory("artifacts"), 1, Duration.ofMillis(100));
+        Assert.assertTrue(writer.drain(Duration.ofSeconds(5)));
+
+        Assert.assertFalse(writer.submit(snapshot("LoginPageTests.testLate")));
+        Assert.assertEquals(writer.getDropped(), 1);
+        Assert.assertEquals(writer.getWritten(), 0);
+    }
+}
@@ -0,0 +1,35 @@
+package tests;
+
+import com.janitri.driver.BrowserContexts;
+import com.janitri.metrics.CommandLatency;
+import com.janitri.metrics.CommandLatencyListener;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BrowserContextsTests {
+
+    @Test(description = "A context session is still recognised behind the latency decorator")
+    public void testInstrumentedContextSessionIsRecognised() {
+        WebDriver session = new DriverPoolTests.StubDriver();
+        BrowserContexts.registerContextSession(session);
+        WebDriver instrumented = new EventFiringDecorator<WebDriver>(new CommandLatencyListener(new CommandLatency(), 1.0))
+                .decorate(session);
+
+        Assert.assertNotSame(instrumented, session);
+        Assert.assertTrue(BrowserContexts.isContextSession(session));
+        Assert.assertTrue(BrowserContexts.isContextSession(instrumented));
+    }
+
+    @Test(description = "Sessions of their own Chrome are not context sessions, decorated or not")
+    public void testPlainSessionIsNotContextSession() {
+        WebDriver session = new DriverPoolTests.StubDriver();
+        WebDriver instrumented = new EventFiringDecorator<WebDriver>(new CommandLatencyListener(new CommandLatency(), 1.0))
+                .decorate(session);
+
+        Assert.assertFalse(BrowserContexts.isContextSession(session));
+        Assert.assertFalse(BrowserContexts.isContextSession(instrumented));
+        Assert.assertFalse(BrowserContexts.isContextSession(null));
+    }
+}
@@ -0,0 +1,61 @@
+package tests;
+
+import com.janitri.metrics.CommandLatency;
+import com.janitri.metrics.CommandLatencyListener;
+import com.janitri.metrics.LatencyHistogram;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+// Tests share the sample-rate property. The shared recorder is left alone: it holds what
+// the browser tests of the same suite recorded
+@Test(singleThreaded = true)
+public class CommandLatencyTests {
+
+    @AfterMethod(alwaysRun = true)
+    public void clearSampleRate() {
+        System.clearProperty("janitri.latency.sampleRate");
+    }
+
+    @Test(description = "Percentiles stay within the histogram's bucket precision")
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.recordMicros(millis * 1000L);
+        }
+        Assert.assertEquals(histogram.getCount(), 100);
+        Assert.assertEquals(histogram.percentileMillis(50), 50.0, 50 * 0.07);
+        Assert.assertEquals(histogram.percentileMillis(95), 95.0, 95 * 0.07);
+        Assert.assertEquals(histogram.percentileMillis(99), 99.0, 99 * 0.07);
+        Assert.assertEquals(histogram.getMaxMillis(), 100.0, 0.0);
+        Assert.assertTrue(histogram.percentileMillis(100) <= histogram.getMaxMillis());
+    }
+
+    @Test(description = "Decorated driver records per-command and per-locator latency")
+    public void testInstrumentedDriverRecordsCommands() {
+        CommandLatency latency = new CommandLatency();
+        WebDriver driver = new EventFiringDecorator<WebDriver>(new CommandLatencyListener(latency, 1.0))
+                .decorate(new DriverPoolTests.StubDriver());
+
+        latency.startTest("CommandLatencyTests.sample");
+        driver.findElements(By.name("email"));
+        driver.findElements(By.name("email"));
+        driver.getPageSource();
+        latency.finishTest();
+
+        Assert.assertEquals(latency.getCommands().get("findElements").getCount(), 2);
+        Assert.assertEquals(latency.getCommands().get("getPageSource").getCount(), 1);
+        Assert.assertEquals(latency.getLocators().get(By.name("email").toString()).getCount(), 2);
+        Assert.assertEquals(latency.getTests().get("CommandLatencyTests.sample").getCount(), 1);
+    }
+
+    @Test(description = "Sampling turned off leaves the driver undecorated")
+    public void testZeroSampleRateSkipsDecoration() {
+        System.setProperty("janitri.latency.sampleRate", "0");
+        WebDriver driver = new DriverPoolTests.StubDriver();
+        Assert.assertSame(CommandLatency.instrument(driver), driver);
+    }
+}
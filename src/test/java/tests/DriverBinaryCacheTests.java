@@ -0,0 +1,61 @@
+package tests;
+
+import com.janitri.driver.DriverBinaryCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class DriverBinaryCacheTests {
+
+    private static Path fakeDriver(Path dir) throws Exception {
+        Path driver = Files.createFile(dir.resolve("chromedriver"));
+        Assert.assertTrue(driver.toFile().setExecutable(true), "Test driver must be executable");
+        return driver;
+    }
+
+    @Test(description = "Resolved paths survive a reload, keyed by browser version")
+    public void testEntryPersistsAcrossRuns() throws Exception {
+        Path dir = Files.createTempDirectory("driver-cache");
+        Path file = dir.resolve("driver-binaries.properties");
+        Path driver = fakeDriver(dir);
+
+        new DriverBinaryCache(file).store("default", "131.0.6778.85", driver.toString(), null);
+        DriverBinaryCache.Entry entry = new DriverBinaryCache(file).lookup("default");
+
+        Assert.assertNotNull(entry, "Entry should be read back");
+        Assert.assertEquals(entry.getBrowserVersion(), "131.0.6778.85");
+        Assert.assertEquals(entry.getDriverPath(), driver.toString());
+        Assert.assertNull(entry.getBrowserPath());
+        Assert.assertNull(new DriverBinaryCache(file).lookup("beta"), "Channels are cached separately");
+    }
+
+    @Test(description = "Entries pointing at deleted binaries are ignored")
+    public void testMissingBinaryIsIgnored() throws Exception {
+        Path dir = Files.createTempDirectory("driver-cache");
+        DriverBinaryCache cache = new DriverBinaryCache(dir.resolve("driver-binaries.properties"));
+        Path driver = fakeDriver(dir);
+        cache.store("default", "131.0.6778.85", driver.toString(), dir.resolve("chrome").toString());
+
+        Assert.assertNull(cache.lookup("default"), "Missing browser binary should invalidate the entry");
+
+        Files.createFile(dir.resolve("chrome"));
+        Assert.assertNotNull(cache.lookup("default"));
+        Files.delete(driver);
+        Assert.assertNull(cache.lookup("default"), "Missing driver binary should invalidate the entry");
+    }
+
+    @Test(description = "Invalidating a channel forces the next lookup to resolve again")
+    public void testInvalidateForgetsChannel() throws Exception {
+        Path dir = Files.createTempDirectory("driver-cache");
+        Path file = dir.resolve("driver-binaries.properties");
+        DriverBinaryCache cache = new DriverBinaryCache(file);
+        cache.store("default", "130.0.6723.58", fakeDriver(dir).toString(), null);
+
+        cache.invalidate("default");
+
+        Assert.assertNull(cache.lookup("default"));
+        Assert.assertNull(new DriverBinaryCache(file).lookup("default"), "Invalidation should be saved");
+    }
+}
@@ -0,0 +1,100 @@
+package tests;
+
+import com.janitri.driver.DriverPool;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DriverPoolTests {
+
+    // Minimal driver so pool behaviour can be checked without launching Chrome
+    static class StubDriver implements WebDriver {
+        boolean quit;
+
+        @Override public void get(String url) { }
+        @Override public String getCurrentUrl() { return "about:blank"; }
+        @Override public String getTitle() { return ""; }
+        @Override public List<WebElement> findElements(By by) { return Collections.emptyList(); }
+        @Override public WebElement findElement(By by) { return null; }
+        @Override public String getPageSource() { return ""; }
+        @Override public void close() { }
+        @Override public void quit() { quit = true; }
+        @Override public Set<String> getWindowHandles() { return Collections.emptySet(); }
+        @Override public String getWindowHandle() { return ""; }
+        @Override public TargetLocator switchTo() { return null; }
+        @Override public Navigation navigate() { return null; }
+        @Override public Options manage() { return null; }
+    }
+
+    private DriverPool newPool(AtomicInteger resets, int maxSize, int maxUses) {
+        return new DriverPool(StubDriver::new, d -> resets.incrementAndGet(),
+                0, maxSize, maxUses, Duration.ofMinutes(5), Duration.ofSeconds(1));
+    }
+
+    @Test(description = "Released sessions are reset and handed out again")
+    public void testReleasedSessionIsReused() {
+        AtomicInteger resets = new AtomicInteger();
+        DriverPool pool = newPool(resets, 2, 10);
+
+        WebDriver first = pool.acquire();
+        pool.release(first);
+        WebDriver second = pool.acquire();
+
+        Assert.assertSame(second, first, "Pool should reuse the released session");
+        Assert.assertEquals(pool.getHits(), 1);
+        Assert.assertEquals(pool.getMisses(), 1);
+        Assert.assertEquals(resets.get(), 1, "Reused session should be reset exactly once");
+        pool.shutdown();
+    }
+
+    @Test(description = "Sessions are recycled after reaching the use limit")
+    public void testSessionRecycledAfterMaxUses() {
+        DriverPool pool = newPool(new AtomicInteger(), 1, 2);
+
+        StubDriver driver = (StubDriver) pool.acquire();
+        pool.release(driver);
+        Assert.assertSame(pool.acquire(), driver);
+        pool.release(driver);
+
+        Assert.assertTrue(driver.quit, "Session should be quit once it served maxUses tests");
+        Assert.assertNotSame(pool.acquire(), driver);
+        Assert.assertEquals(pool.getRecycled(), 1);
+        pool.shutdown();
+    }
+
+    @Test(description = "Acquire fails once maxSize sessions are leased",
+            expectedExceptions = RuntimeException.class)
+    public void testAcquireTimesOutWhenPoolExhausted() {
+        DriverPool pool = newPool(new AtomicInteger(), 1, 10);
+        pool.acquire();
+        try {
+            pool.acquire();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(description = "Sessions that fail to reset are discarded")
+    public void testBrokenSessionIsDiscarded() {
+        DriverPool pool = new DriverPool(StubDriver::new, d -> {
+            throw new IllegalStateException("session crashed");
+        }, 0, 1, 10, Duration.ofMinutes(5), Duration.ofSeconds(1));
+
+        StubDriver broken = (StubDriver) pool.acquire();
+        pool.release(broken);
+        WebDriver replacement = pool.acquire();
+
+        Assert.assertTrue(broken.quit, "Session that failed to reset should be quit");
+        Assert.assertNotSame(replacement, broken);
+        Assert.assertEquals(pool.getMisses(), 2);
+        pool.shutdown();
+    }
+}
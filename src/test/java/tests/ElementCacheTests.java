@@ -0,0 +1,137 @@
+package tests;
+
+import com.janitri.locators.CachedElementDecorator;
+import com.janitri.locators.ElementCache;
+import com.janitri.waits.BudgetedElementLocatorFactory;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ElementCacheTests {
+
+    // DOM stand-in: one node per locator, replaced nodes make old handles stale
+    static class StubPage implements SearchContext {
+        final Map<By, Node> nodes = new HashMap<>();
+        int finds;
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            finds++;
+            Node node = nodes.get(by);
+            return node == null ? List.of() : List.of(node.element);
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            return findElements(by).get(0);
+        }
+
+        Node replace(By by, String value) {
+            Node old = nodes.get(by);
+            if (old != null) {
+                old.detached = true;
+            }
+            Node node = new Node(value);
+            nodes.put(by, node);
+            return node;
+        }
+    }
+
+    static class Node {
+        final String value;
+        boolean detached;
+        final WebElement element;
+
+        Node(String value) {
+            this.value = value;
+            this.element = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                        if (detached) {
+                            throw new StaleElementReferenceException("stale element reference");
+                        }
+                        return "getAttribute".equals(method.getName()) ? this.value : null;
+                    });
+        }
+    }
+
+    static class Form {
+        @FindBy(name = "email")
+        WebElement email;
+
+        @FindBy(name = "email")
+        WebElement emailAgain;
+
+        @FindBy(tagName = "button")
+        WebElement button;
+    }
+
+    private Form decorate(StubPage page, ElementCache cache) {
+        Form form = new Form();
+        PageFactory.initElements(new CachedElementDecorator(
+                new BudgetedElementLocatorFactory(page, Duration.ofSeconds(1)), cache), form);
+        return form;
+    }
+
+    @Test(description = "A field is looked up once and shared by fields with the same locator")
+    public void testHandleIsReused() {
+        StubPage page = new StubPage();
+        page.replace(By.name("email"), "a@b.c");
+        ElementCache cache = new ElementCache();
+        Form form = decorate(page, cache);
+
+        Assert.assertEquals(form.email.getAttribute("value"), "a@b.c");
+        Assert.assertEquals(form.email.getAttribute("value"), "a@b.c");
+        Assert.assertEquals(form.emailAgain.getAttribute("value"), "a@b.c");
+
+        Assert.assertEquals(page.finds, 1, "Only the first access should search the page");
+        Assert.assertEquals(cache.getHits(), 2);
+        Assert.assertEquals(cache.getMisses(), 1);
+        Assert.assertEquals(cache.getHitRate(), 2.0 / 3, 0.001);
+    }
+
+    @Test(description = "A stale handle is looked up again and the call retried")
+    public void testStaleHandleIsRefreshed() {
+        StubPage page = new StubPage();
+        page.replace(By.name("email"), "before");
+        ElementCache cache = new ElementCache();
+        Form form = decorate(page, cache);
+        Assert.assertEquals(form.email.getAttribute("value"), "before");
+
+        page.replace(By.name("email"), "after");
+        Assert.assertEquals(form.email.getAttribute("value"), "after");
+        Assert.assertEquals(form.email.getAttribute("value"), "after");
+
+        Assert.assertEquals(page.finds, 2, "Re-resolved once, when the node changed");
+        Assert.assertEquals(cache.getStaleRefreshes(), 1);
+        Assert.assertEquals(cache.getHits(), 1, "The call that hit the stale handle is not a hit");
+        Assert.assertEquals(cache.getMisses(), 2);
+    }
+
+    @Test(description = "Seeded handles need no lookup; invalidation forces one")
+    public void testSeedAndInvalidate() {
+        StubPage page = new StubPage();
+        Node button = page.replace(By.tagName("button"), "Login");
+        ElementCache cache = new ElementCache();
+        Form form = decorate(page, cache);
+
+        cache.put(By.tagName("button"), button.element);
+        Assert.assertEquals(form.button.getAttribute("value"), "Login");
+        Assert.assertEquals(page.finds, 0);
+
+        cache.invalidateAll();
+        Assert.assertEquals(form.button.getAttribute("value"), "Login");
+        Assert.assertEquals(page.finds, 1);
+        Assert.assertTrue(ElementCache.summary().startsWith("Element cache: "), ElementCache.summary());
+    }
+}
@@ -0,0 +1,74 @@
+package tests;
+
+import com.janitri.reporting.JsonlResultWriter;
+import org.openqa.selenium.json.Json;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class JsonlResultWriterTests {
+
+    private static Map<String, Object> record(String test) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("test", test);
+        record.put("bodyMs", 12.5);
+        record.put("selectors", Map.of("loginButton", "//button[@type='submit']"));
+        record.put("error", "AssertionError: expected\nsecond line");
+        return record;
+    }
+
+    @Test(description = "Records appended from several threads are whole lines of valid JSON")
+    public void testConcurrentAppendsStayOneRecordPerLine() throws Exception {
+        Path file = Files.createTempDirectory("results").resolve("test-results.jsonl");
+        List<Thread> threads = new ArrayList<>();
+        try (JsonlResultWriter writer = new JsonlResultWriter(file)) {
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                Thread appender = new Thread(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        writer.append(record("LoginPageTests.test" + thread + "_" + i));
+                    }
+                });
+                threads.add(appender);
+                appender.start();
+            }
+            for (Thread appender : threads) {
+                appender.join();
+            }
+            Assert.assertEquals(writer.getWritten(), 100);
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        Assert.assertEquals(lines.size(), 100);
+        Set<Object> tests = new HashSet<>();
+        Json json = new Json();
+        for (String line : lines) {
+            Map<String, Object> parsed = json.toType(line, Json.MAP_TYPE);
+            tests.add(parsed.get("test"));
+            Assert.assertEquals(parsed.get("error"), "AssertionError: expected\nsecond line");
+        }
+        Assert.assertEquals(tests.size(), 100, "Every record should be on its own line");
+    }
+
+    @Test(description = "A second writer appends to the file instead of replacing it")
+    public void testReopenAppends() throws Exception {
+        Path file = Files.createTempDirectory("results").resolve("nested/test-results.jsonl");
+        try (JsonlResultWriter writer = new JsonlResultWriter(file)) {
+            writer.append(record("first"));
+        }
+        try (JsonlResultWriter writer = new JsonlResultWriter(file)) {
+            writer.append(record("second"));
+        }
+        List<String> lines = Files.readAllLines(file);
+        Assert.assertEquals(lines.size(), 2);
+        Assert.assertTrue(lines.get(1).contains("\"second\""), lines.get(1));
+    }
+}
@@ -0,0 +1,70 @@
+package tests;
+
+import com.janitri.server.LoginStubServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+public class LoginStubServerTests {
+
+    private LoginStubServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeClass
+    public void startServer() {
+        server = new LoginStubServer(0, 0, 0, "user@janitri.com", "secret", true);
+        server.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop();
+    }
+
+    @Test(description = "Login page replica is served with the gate enabled")
+    public void testServesLoginPage() throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(server.baseUrl())).build(), HttpResponse.BodyHandlers.ofString());
+        Assert.assertEquals(response.statusCode(), 200);
+        Assert.assertTrue(response.body().contains("To proceed to the login page please allow"));
+        Assert.assertTrue(response.body().contains("\"notificationGate\":true")
+                || response.body().contains("\"notificationGate\": true"), "Stub config is injected");
+    }
+
+    @Test(description = "Login endpoint accepts only the configured credentials")
+    public void testLoginEndpoint() throws Exception {
+        Assert.assertEquals(login("{\"email\":\"user@janitri.com\",\"password\":\"secret\"}").statusCode(), 200);
+
+        HttpResponse<String> rejected = login("{\"email\":\"user@janitri.com\",\"password\":\"wrong\"}");
+        Assert.assertEquals(rejected.statusCode(), 401);
+        Assert.assertTrue(rejected.body().contains("Invalid credentials"));
+    }
+
+    @Test(description = "Configured latency is added to every response")
+    public void testLatencyInjection() throws Exception {
+        LoginStubServer slow = new LoginStubServer(0, 200, 0, "user@janitri.com", "secret", false);
+        slow.start();
+        try {
+            long start = System.nanoTime();
+            client.send(HttpRequest.newBuilder(URI.create(slow.baseUrl())).build(), HttpResponse.BodyHandlers.ofString());
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            Assert.assertTrue(elapsedMillis >= 200, "Response took " + elapsedMillis + " ms");
+        } finally {
+            slow.stop();
+        }
+    }
+
+    private HttpResponse<String> login(String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.baseUrl() + "api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
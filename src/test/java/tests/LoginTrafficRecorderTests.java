@@ -0,0 +1,75 @@
+package tests;
+
+import com.janitri.network.LoginExchange;
+import com.janitri.network.LoginTrafficRecorder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public class LoginTrafficRecorderTests {
+
+    private static final Pattern LOGIN = Pattern.compile("(?i)(login|auth)");
+
+    private static Map<String, Object> request(String id, String type, String method, String url, double timestamp) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("requestId", id);
+        params.put("type", type);
+        params.put("timestamp", timestamp);
+        params.put("request", Map.of("method", method, "url", url));
+        return params;
+    }
+
+    private static Map<String, Object> response(String id, int status, double sendEnd, double receiveHeadersEnd) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("requestId", id);
+        params.put("timestamp", 100.5);
+        params.put("response", Map.of("status", status, "statusText", "Unauthorized", "mimeType", "application/json",
+                "timing", Map.of("sendStart", 1.0, "sendEnd", sendEnd, "receiveHeadersEnd", receiveHeadersEnd)));
+        return params;
+    }
+
+    @Test(description = "The login fetch is followed to its response; other requests are ignored")
+    public void testRejectedLoginIsCaptured() {
+        LoginTrafficRecorder recorder = new LoginTrafficRecorder(LOGIN);
+        recorder.arm();
+        recorder.onEvent("Network.requestWillBeSent", request("1", "Image", "GET", "http://127.0.0.1/logo.png", 100.0));
+        recorder.onEvent("Network.requestWillBeSent", request("2", "Preflight", "OPTIONS", "http://127.0.0.1/api/auth/login", 100.0));
+        recorder.onEvent("Network.requestWillBeSent", request("3", "Fetch", "POST", "http://127.0.0.1/api/auth/login", 100.0));
+        recorder.onEvent("Network.responseReceived", response("3", 401, 2.0, 182.0));
+        Assert.assertNull(recorder.current(), "Not complete before the body has arrived");
+        recorder.onEvent("Network.loadingFinished", Map.of("requestId", "3", "timestamp", 100.25));
+
+        LoginExchange exchange = recorder.await(Duration.ofSeconds(1), Duration.ofSeconds(1));
+        Assert.assertNotNull(exchange);
+        Assert.assertEquals(exchange.getOutcome(), LoginExchange.Outcome.REJECTED);
+        Assert.assertEquals(exchange.getStatus(), 401);
+        Assert.assertEquals(exchange.getMethod(), "POST");
+        Assert.assertEquals(exchange.getServerMillis(), 180.0, 0.001);
+        Assert.assertEquals(exchange.getTotalMillis(), 250.0, 0.001);
+        Assert.assertEquals(exchange.getRenderMillis(), -1.0);
+        exchange.recordRendered();
+        Assert.assertTrue(exchange.getRenderMillis() >= 0);
+        Assert.assertTrue(exchange.describe().startsWith("Login failed - server responded 401 Unauthorized"),
+                exchange.describe());
+    }
+
+    @Test(description = "Without a login request after arming, waiting gives up after the start timeout")
+    public void testNoLoginRequestReturnsNull() {
+        LoginTrafficRecorder recorder = new LoginTrafficRecorder(LOGIN);
+        recorder.arm();
+        recorder.onEvent("Network.requestWillBeSent", request("1", "XHR", "POST", "http://127.0.0.1/api/auth/login", 1.0));
+        recorder.onEvent("Network.loadingFailed", Map.of("requestId", "1", "timestamp", 1.1, "errorText", "net::ERR_CONNECTION_REFUSED"));
+        Assert.assertEquals(recorder.current().getOutcome(), LoginExchange.Outcome.NETWORK_ERROR);
+
+        // Client-side validation stopped the next submit before any request
+        recorder.arm();
+        long start = System.nanoTime();
+        Assert.assertNull(recorder.await(Duration.ofMillis(200), Duration.ofSeconds(10)));
+        Assert.assertTrue(System.nanoTime() - start < 5_000_000_000L, "Should not wait for the full timeout");
+        Assert.assertNull(recorder.current(), "Arming forgets the previous login");
+    }
+}
@@ -0,0 +1,69 @@
+package tests;
+
+import com.janitri.pages.LoginPage;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+// Methods change system properties, so they must not run in parallel with each other
+@Test(singleThreaded = true)
+public class PageBinderTests {
+
+    // Driver whose page has every login field, counting lookups
+    static class CountingDriver extends DriverPoolTests.StubDriver {
+        int finds;
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            finds++;
+            WebElement element = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{WebElement.class},
+                    (proxy, method, args) -> "getAttribute".equals(method.getName()) ? "value of " + by : null);
+            return List.of(element);
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void clearProperties() {
+        System.clearProperty("janitri.pages.generatedBinder");
+        System.clearProperty("janitri.elementCache.enabled");
+    }
+
+    @Test(description = "The generated binder wires the fields without looking anything up")
+    public void testGeneratedBinderResolvesLazily() throws Exception {
+        Class.forName("com.janitri.pages.LoginPage_Binder");
+        CountingDriver driver = new CountingDriver();
+        LoginPage page = new LoginPage(driver);
+        Assert.assertEquals(driver.finds, 0, "Construction should not search the page");
+
+        Assert.assertEquals(page.getEmailFieldValue(), "value of By.name: email");
+        Assert.assertEquals(page.getEmailFieldValue(), "value of By.name: email");
+        Assert.assertEquals(page.getPasswordFieldValue(), "value of By.name: password");
+        Assert.assertEquals(driver.finds, 2, "Each field is looked up once");
+    }
+
+    @Test(description = "Generated and PageFactory wiring resolve the same locators")
+    public void testPageFactoryWiringMatches() {
+        System.setProperty("janitri.pages.generatedBinder", "false");
+        CountingDriver driver = new CountingDriver();
+        LoginPage page = new LoginPage(driver);
+        Assert.assertEquals(page.getEmailFieldValue(), "value of By.name: email");
+        Assert.assertEquals(page.getPasswordFieldValue(), "value of By.name: password");
+        Assert.assertEquals(driver.finds, 2);
+    }
+
+    @Test(description = "With the cache off every access looks the element up")
+    public void testCacheDisabled() {
+        System.setProperty("janitri.elementCache.enabled", "false");
+        CountingDriver driver = new CountingDriver();
+        LoginPage page = new LoginPage(driver);
+        page.getEmailFieldValue();
+        page.getEmailFieldValue();
+        Assert.assertEquals(driver.finds, 2);
+    }
+}
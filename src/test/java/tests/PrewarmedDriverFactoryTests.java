@@ -0,0 +1,99 @@
+package tests;
+
+import com.janitri.driver.PrewarmedDriverFactory;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PrewarmedDriverFactoryTests {
+
+    private static void awaitQueueDepth(PrewarmedDriverFactory factory, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (factory.getQueueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(factory.getQueueDepth(), depth, "Factory should have prewarmed " + depth + " session(s)");
+    }
+
+    @Test(description = "Taken sessions come from the queue and are replaced in the background")
+    public void testTakesWarmSessionAndRefills() throws InterruptedException {
+        AtomicInteger launches = new AtomicInteger();
+        PrewarmedDriverFactory factory = new PrewarmedDriverFactory(() -> {
+            launches.incrementAndGet();
+            return new DriverPoolTests.StubDriver();
+        }, 2, 1, Duration.ofSeconds(5)).start();
+        awaitQueueDepth(factory, 2);
+
+        WebDriver driver = factory.get();
+
+        Assert.assertNotNull(driver);
+        Assert.assertEquals(factory.getWarmTakes(), 1);
+        Assert.assertEquals(factory.getColdLaunches(), 0);
+        awaitQueueDepth(factory, 2);
+        Assert.assertEquals(launches.get(), 3, "One replacement should be launched per take");
+        factory.shutdown();
+    }
+
+    @Test(description = "A caller blocked on an in-flight launch gets that session and its wait is recorded")
+    public void testBlockedTakeWaitsForInFlightLaunch() {
+        CountDownLatch release = new CountDownLatch(1);
+        PrewarmedDriverFactory factory = new PrewarmedDriverFactory(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new DriverPoolTests.StubDriver();
+        }, 1, 1, Duration.ofSeconds(5)).start();
+
+        new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        }).start();
+        factory.get();
+
+        Assert.assertEquals(factory.getWarmTakes(), 1);
+        Assert.assertTrue(factory.getMaxWaitMillis() >= 150,
+                "Wait on the launch should be recorded, was " + factory.getMaxWaitMillis() + " ms");
+        factory.shutdown();
+    }
+
+    @Test(description = "When background launches fail the caller launches itself and sees the error",
+            expectedExceptions = IllegalStateException.class, expectedExceptionsMessageRegExp = "no browser")
+    public void testFailedLaunchesFallBackToCaller() throws InterruptedException {
+        PrewarmedDriverFactory factory = new PrewarmedDriverFactory(() -> {
+            throw new IllegalStateException("no browser");
+        }, 1, 1, Duration.ofSeconds(5)).start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (factory.getLaunchFailures() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        try {
+            factory.get();
+        } finally {
+            Assert.assertEquals(factory.getColdLaunches(), 1);
+            factory.shutdown();
+        }
+    }
+
+    @Test(description = "Shutdown quits sessions nobody took")
+    public void testShutdownQuitsReadySessions() throws InterruptedException {
+        DriverPoolTests.StubDriver stub = new DriverPoolTests.StubDriver();
+        PrewarmedDriverFactory factory = new PrewarmedDriverFactory(() -> stub, 1, 1, Duration.ofSeconds(5)).start();
+        awaitQueueDepth(factory, 1);
+
+        factory.shutdown();
+
+        Assert.assertTrue(stub.quit, "Prewarmed session should be quit on shutdown");
+        Assert.assertEquals(factory.getQueueDepth(), 0);
+    }
+}
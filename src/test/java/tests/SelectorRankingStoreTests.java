@@ -0,0 +1,59 @@
+package tests;
+
+import com.janitri.locators.SelectorRankingStore;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SelectorRankingStoreTests {
+
+    private static final List<String> CANDIDATES = List.of("//a", "//b", "//c");
+
+    @Test(description = "Successful selector is tried first next time")
+    public void testSuccessfulSelectorMovesToFront() throws Exception {
+        Path file = Files.createTempDirectory("ranking").resolve("ranking.properties");
+        SelectorRankingStore store = new SelectorRankingStore(file, Duration.ofHours(1), System::currentTimeMillis);
+
+        Assert.assertEquals(store.order("allow", CANDIDATES), CANDIDATES, "No history keeps declared order");
+
+        store.recordSuccess("allow", "//c");
+        Assert.assertEquals(store.order("allow", CANDIDATES), List.of("//c", "//a", "//b"));
+        Assert.assertEquals(store.order("reload", CANDIDATES), CANDIDATES, "Rankings are per logical element");
+    }
+
+    @Test(description = "Ranking survives a save and reload")
+    public void testRankingPersistsAcrossRuns() throws Exception {
+        Path file = Files.createTempDirectory("ranking").resolve("ranking.properties");
+        SelectorRankingStore first = new SelectorRankingStore(file, Duration.ofHours(1), System::currentTimeMillis);
+        first.recordSuccess("allow", "//b");
+        first.save();
+
+        SelectorRankingStore second = new SelectorRankingStore(file, Duration.ofHours(1), System::currentTimeMillis);
+        Assert.assertEquals(second.order("allow", CANDIDATES).get(0), "//b");
+    }
+
+    @Test(description = "Stale entries decay and are dropped")
+    public void testStaleEntriesDecay() throws Exception {
+        Path file = Files.createTempDirectory("ranking").resolve("ranking.properties");
+        AtomicLong now = new AtomicLong(0);
+        SelectorRankingStore store = new SelectorRankingStore(file, Duration.ofHours(1), now::get);
+
+        store.recordSuccess("allow", "//a");
+        store.recordSuccess("allow", "//a");
+        now.set(Duration.ofHours(1).toMillis());
+        store.recordSuccess("allow", "//c");
+        store.recordSuccess("allow", "//c");
+        Assert.assertEquals(store.score("allow", "//a"), 1.0, 0.001, "Score should halve after one half-life");
+        Assert.assertEquals(store.order("allow", CANDIDATES).get(0), "//c", "Recent success should win over stale one");
+
+        store.save();
+        now.set(Duration.ofHours(24).toMillis());
+        SelectorRankingStore reloaded = new SelectorRankingStore(file, Duration.ofHours(1), now::get);
+        Assert.assertEquals(reloaded.score("allow", "//c"), 0.0, "Fully decayed entries should be dropped");
+    }
+}
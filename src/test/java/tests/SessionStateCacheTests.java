@@ -0,0 +1,58 @@
+package tests;
+
+import com.janitri.driver.SessionState;
+import com.janitri.driver.SessionStateCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SessionStateCacheTests {
+
+    private static SessionState snapshot(long capturedAt) {
+        return new SessionState("https://dev-dash.janitri.in",
+                List.of(Map.of("name", "session", "value", "abc", "domain", "dev-dash.janitri.in")),
+                Map.of("notificationsAllowed", "true"), Map.of(), "granted", capturedAt);
+    }
+
+    @Test(description = "Only the first offered snapshot is kept, and it expires after the TTL")
+    public void testFirstSnapshotWinsUntilExpired() {
+        AtomicLong clock = new AtomicLong(1_000);
+        SessionStateCache cache = new SessionStateCache(Duration.ofSeconds(60), clock::get);
+        SessionState first = snapshot(clock.get());
+
+        Assert.assertTrue(cache.offer(first));
+        Assert.assertFalse(cache.offer(snapshot(clock.get())), "A second warm-up must not replace the snapshot");
+        clock.addAndGet(60_000);
+        Assert.assertSame(cache.current(), first);
+
+        clock.addAndGet(1);
+        Assert.assertNull(cache.current(), "Snapshot should expire after its TTL");
+        Assert.assertEquals(cache.getExpirations(), 1);
+        Assert.assertTrue(cache.offer(snapshot(clock.get())), "An expired snapshot can be replaced");
+    }
+
+    @Test(description = "Invalidating a stale snapshot does not drop a newer one")
+    public void testInvalidateOnlyDropsThatSnapshot() {
+        AtomicLong clock = new AtomicLong(1_000);
+        SessionStateCache cache = new SessionStateCache(Duration.ofMinutes(15), clock::get);
+        SessionState first = snapshot(clock.get());
+        cache.offer(first);
+
+        cache.invalidate(first, "restored page was NOTIFICATION_GATE");
+        Assert.assertNull(cache.current());
+        SessionState second = snapshot(clock.get());
+        cache.offer(second);
+
+        // A test that was restored from the first snapshot reports it late
+        cache.invalidate(first, "restored page was UNKNOWN");
+        Assert.assertSame(cache.current(), second);
+        Assert.assertEquals(cache.getInvalidations(), 1);
+        Assert.assertEquals(cache.getCaptures(), 2);
+        cache.recordReady(4_000_000);
+        Assert.assertTrue(cache.summary().contains("(1 ready, avg check 4 ms)"), cache.summary());
+    }
+}
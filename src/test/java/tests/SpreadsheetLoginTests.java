@@ -0,0 +1,115 @@
+package tests;
+
+import com.janitri.base.BaseTest;
+import com.janitri.data.LoginCase;
+import com.janitri.data.LoginCaseSource;
+import com.janitri.pages.LoginPage;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Iterator;
+
+/**
+ * Runs every row of Janitri_Login_TestCases.xlsx as its own test invocation.
+ * Adding a row to the spreadsheet adds a test; no code changes needed for known scenarios.
+ */
+public class SpreadsheetLoginTests extends BaseTest {
+
+    private static final String DEFAULT_EMAIL = "test@janitri.com";
+    private static final String DEFAULT_PASSWORD = "testpassword123";
+
+    // Streamed row by row; invocations fan out over data-provider-thread-count sessions
+    @DataProvider(name = "loginCases", parallel = true)
+    public Iterator<Object[]> loginCases() {
+        return LoginCaseSource.open(LoginCaseSource.configuredFile());
+    }
+
+    @Test(dataProvider = "loginCases", description = "Login case from the test case spreadsheet")
+    public void testLoginCase(LoginCase loginCase) {
+        System.out.println("Running " + loginCase + " (" + loginCase.getAction() + ")");
+        LoginPage lp = new LoginPage(getDriver());
+        lp.waitForPageLoad();
+
+        switch (loginCase.getAction()) {
+            case VALID_LOGIN:
+                lp.loginWithValidCredentials(loginCase.emailOr(DEFAULT_EMAIL), loginCase.passwordOr(DEFAULT_PASSWORD));
+                // Without real credentials only the attempt itself can be checked
+                System.out.println("Login successful: " + !lp.isOnLoginPage());
+                break;
+            case INVALID_EMAIL:
+                lp.loginWithInvalidEmail(loginCase.emailOr("invalid@example.com"), loginCase.passwordOr(DEFAULT_PASSWORD));
+                assertLoginRejected(lp, loginCase);
+                break;
+            case INVALID_PASSWORD:
+                lp.loginWithInvalidPassword(loginCase.emailOr(DEFAULT_EMAIL), loginCase.passwordOr("wrongpassword123"));
+                assertLoginRejected(lp, loginCase);
+                break;
+            case EMPTY_FIELDS:
+                lp.loginWithEmptyFields();
+                String validationError = lp.getEmptyFieldsError();
+                System.out.println(loginCase.getId() + " validation error: " + validationError);
+                Assert.assertTrue(lp.isOnLoginPage() || containsAny(validationError,
+                                "required", "please enter", "field", "email", "password", "login failed", "notification"),
+                        loginCase + ": expected validation error. Response: " + validationError);
+                break;
+            case PASSWORD_MASKED:
+                lp.enterPassword(loginCase.passwordOr(DEFAULT_PASSWORD));
+                Assert.assertTrue(lp.isPasswordMasked(), loginCase + ": password should be masked by default");
+                break;
+            case TOGGLE_VISIBILITY:
+                lp.enterPassword(loginCase.passwordOr(DEFAULT_PASSWORD));
+                Assert.assertTrue(lp.isPasswordMasked(), loginCase + ": password should be masked by default");
+                lp.togglePasswordVisibility();
+                System.out.println(loginCase.getId() + " masked after toggle: " + lp.isPasswordMasked());
+                break;
+            case EMAIL_ACCEPTS_TEXT:
+                String email = loginCase.emailOr("test@example.com");
+                lp.enterEmailText(email);
+                Assert.assertEquals(lp.getEmailFieldValue(), email, loginCase + ": email field should keep the text");
+                break;
+            case BUTTON_STATE:
+                lp.clearAllFields();
+                // Some forms keep the button enabled and validate on submit - record the state only
+                System.out.println(loginCase.getId() + " login button disabled: " + lp.isLoginButtonDisabled());
+                break;
+            case EMAIL_FORMAT_VALIDATION:
+                lp.enterEmailText(loginCase.emailOr("abc"));
+                // Move focus away to trigger validation
+                lp.enterPassword("test");
+                String emailError = lp.getEmailValidationError();
+                System.out.println(loginCase.getId() + " email validation error: " + emailError);
+                Assert.assertTrue(containsAny(emailError, "invalid", "email", "format")
+                                || emailError.contains("No email validation error found"),
+                        loginCase + ": email validation should work. Response: " + emailError);
+                break;
+            case PAGE_ELEMENTS:
+                Assert.assertTrue(lp.isLoginButtonEnabled(), loginCase + ": login button should be present and enabled");
+                lp.enterUserId("test@example.com");
+                lp.enterPassword("testpassword");
+                lp.clearAllFields();
+                break;
+            default:
+                throw new SkipException("No action mapped for scenario '" + loginCase.getScenario() + "'");
+        }
+    }
+
+    private static void assertLoginRejected(LoginPage lp, LoginCase loginCase) {
+        String errorMessage = lp.getErrorMessage();
+        System.out.println(loginCase.getId() + " error message: " + errorMessage);
+        Assert.assertTrue(lp.isOnLoginPage() || containsAny(errorMessage,
+                        "invalid", "error", "wrong", "failed", "notification"),
+                loginCase + ": expected login to fail. Response: " + errorMessage);
+    }
+
+    private static boolean containsAny(String text, String... needles) {
+        String lower = text.toLowerCase();
+        for (String needle : needles) {
+            if (lower.contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,71 @@
+package tests;
+
+import com.janitri.scheduling.DurationAwareScheduler;
+import com.janitri.scheduling.TestHistoryStore;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestHistoryStoreTests {
+
+    private static final List<String> TESTS = Arrays.asList(
+            "LoginPageTests.testLoginWithValidCredentials",
+            "LoginPageTests.testLoginWithInvalidEmail",
+            "LoginPageTests.testPasswordMaskedButton",
+            "LoginPageTests.testEmailFieldAcceptsInput");
+
+    private static TestHistoryStore store() throws Exception {
+        return new TestHistoryStore(Files.createTempDirectory("history").resolve("test-history.properties"), 0.5);
+    }
+
+    @Test(description = "Averages move towards new runs and survive a save and reload")
+    public void testMovingAverageIsPersisted() throws Exception {
+        Path file = Files.createTempDirectory("history").resolve("test-history.properties");
+        TestHistoryStore history = new TestHistoryStore(file, 0.5);
+        history.record("LoginPageTests.testLoginWithInvalidEmail", 9000, false);
+        history.record("LoginPageTests.testLoginWithInvalidEmail", 3000, true);
+        history.save();
+
+        TestHistoryStore reloaded = new TestHistoryStore(file, 0.5);
+        Assert.assertEquals(reloaded.getAverageMillis("LoginPageTests.testLoginWithInvalidEmail"), 6000.0, 0.1);
+        Assert.assertEquals(reloaded.getFailureRate("LoginPageTests.testLoginWithInvalidEmail"), 0.5, 0.001);
+        Assert.assertEquals(reloaded.getRuns("LoginPageTests.testLoginWithInvalidEmail"), 2);
+        Assert.assertFalse(reloaded.hasHistory("LoginPageTests.testEmailFieldAcceptsInput"));
+    }
+
+    @Test(description = "Slow tests are scheduled first and tests without history count as the slowest")
+    public void testLongestFirst() throws Exception {
+        TestHistoryStore history = store();
+        history.record("LoginPageTests.testLoginWithValidCredentials", 2500, false);
+        history.record("LoginPageTests.testLoginWithInvalidEmail", 9000, false);
+        history.record("LoginPageTests.testEmailFieldAcceptsInput", 400, false);
+
+        List<String> order = DurationAwareScheduler.order(TESTS, history, false, 0.1);
+
+        Assert.assertEquals(order, Arrays.asList(
+                "LoginPageTests.testLoginWithInvalidEmail",
+                "LoginPageTests.testPasswordMaskedButton",
+                "LoginPageTests.testLoginWithValidCredentials",
+                "LoginPageTests.testEmailFieldAcceptsInput"));
+    }
+
+    @Test(description = "Fail-fast moves recently failing tests ahead of slower passing ones")
+    public void testFailFastRunsFailingTestsFirst() throws Exception {
+        TestHistoryStore history = store();
+        history.record("LoginPageTests.testLoginWithValidCredentials", 2500, false);
+        history.record("LoginPageTests.testLoginWithInvalidEmail", 9000, false);
+        history.record("LoginPageTests.testPasswordMaskedButton", 600, false);
+        history.record("LoginPageTests.testEmailFieldAcceptsInput", 400, true);
+
+        List<String> order = DurationAwareScheduler.order(TESTS, history, true, 0.1);
+
+        Assert.assertEquals(order.get(0), "LoginPageTests.testEmailFieldAcceptsInput");
+        Assert.assertEquals(order.get(1), "LoginPageTests.testLoginWithInvalidEmail");
+        Assert.assertEquals(DurationAwareScheduler.order(TESTS, history, false, 0.1).get(3),
+                "LoginPageTests.testEmailFieldAcceptsInput");
+    }
+}
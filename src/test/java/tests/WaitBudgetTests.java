@@ -0,0 +1,53 @@
+package tests;
+
+import com.janitri.waits.WaitBudget;
+import com.janitri.waits.WaitBudgetExceededException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+public class WaitBudgetTests {
+
+    @Test(description = "Grants are capped by the per-call ceiling and the remaining budget")
+    public void testGrantIsCapped() {
+        WaitBudget budget = new WaitBudget("cap", Duration.ofSeconds(20), Duration.ofSeconds(15));
+
+        Assert.assertEquals(budget.grant("resolve(login.errorMessage)", Duration.ofSeconds(10)), Duration.ofSeconds(10));
+        Assert.assertEquals(budget.grant("resolve(login.errorMessage)", Duration.ofSeconds(30)), Duration.ofSeconds(15));
+
+        budget.charge("resolve(login.errorMessage)", 12_000);
+        Assert.assertEquals(budget.grant("domSettled(300ms)", Duration.ofSeconds(10)), Duration.ofSeconds(8));
+    }
+
+    @Test(description = "An exhausted budget fails the next wait and names the calls that used it")
+    public void testExhaustedBudgetListsLedger() {
+        WaitBudget budget = new WaitBudget("LoginPageTests.sample", Duration.ofSeconds(20), Duration.ofSeconds(15));
+        budget.charge("resolve(login.errorMessage)", 10_000);
+        budget.charge("resolve(login.errorMessage)", 9_000);
+        budget.charge("domSettled(300ms)", 1_500);
+
+        Assert.assertTrue(budget.isExhausted());
+        WaitBudgetExceededException e = Assert.expectThrows(WaitBudgetExceededException.class,
+                () -> budget.grant("urlChanged", Duration.ofSeconds(5)));
+        Assert.assertTrue(e.getMessage().contains("LoginPageTests.sample"));
+        Assert.assertTrue(e.getMessage().contains("urlChanged"));
+        Assert.assertTrue(e.getMessage().indexOf("resolve(login.errorMessage)") < e.getMessage().indexOf("domSettled"),
+                "Largest consumer is listed first: " + e.getMessage());
+        Assert.assertTrue(e.getMessage().contains("2x"));
+    }
+
+    @Test(description = "run() charges the elapsed time even when the wait fails")
+    public void testRunChargesFailedWaits() {
+        WaitBudget budget = new WaitBudget("run", Duration.ofSeconds(20), Duration.ofSeconds(15));
+        Assert.expectThrows(IllegalStateException.class, () -> budget.run("until(failing)", Duration.ofSeconds(1), granted -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("timed out");
+        }));
+        Assert.assertTrue(budget.getUsedMillis() >= 50);
+    }
+}
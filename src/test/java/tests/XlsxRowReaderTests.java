@@ -0,0 +1,81 @@
+package tests;
+
+import com.janitri.data.LoginCase;
+import com.janitri.data.LoginCaseSource;
+import com.janitri.data.XlsxRowReader;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class XlsxRowReaderTests {
+
+    @Test(description = "Every case in the shipped spreadsheet maps to a LoginPage action")
+    public void testShippedSpreadsheetMapsToActions() {
+        List<LoginCase> cases = new ArrayList<>();
+        LoginCaseSource source = LoginCaseSource.open(Paths.get("Janitri_Login_TestCases.xlsx"));
+        while (source.hasNext()) {
+            cases.add((LoginCase) source.next()[0]);
+        }
+
+        Assert.assertEquals(cases.size(), 10, "Blank rows below the table are skipped");
+        Assert.assertEquals(cases.get(0).getId(), "TC001");
+        Assert.assertEquals(cases.get(0).getAction(), LoginCase.Action.VALID_LOGIN);
+        Assert.assertEquals(cases.get(1).getAction(), LoginCase.Action.INVALID_EMAIL);
+        Assert.assertEquals(cases.get(7).getAction(), LoginCase.Action.BUTTON_STATE);
+        Assert.assertEquals(cases.get(8).getAction(), LoginCase.Action.EMAIL_FORMAT_VALIDATION);
+        for (LoginCase loginCase : cases) {
+            Assert.assertNotEquals(loginCase.getAction(), LoginCase.Action.UNKNOWN, "Unmapped: " + loginCase);
+        }
+    }
+
+    @Test(description = "Sparse rows, inline strings and optional credential columns are read")
+    public void testSparseRowsAndInlineStrings() throws IOException {
+        Path file = Files.createTempDirectory("xlsx").resolve("cases.xlsx");
+        writeWorkbook(file,
+                "<si><t>Test Case ID</t></si><si><t>Test Scenario</t></si><si><t>Email</t></si>",
+                "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"B1\" t=\"s\"><v>1</v></c><c r=\"D1\" t=\"s\"><v>2</v></c></row>"
+                        + "<row r=\"2\"><c r=\"A2\" t=\"inlineStr\"><is><t>TC100</t></is></c>"
+                        + "<c r=\"D2\" t=\"inlineStr\"><is><t>qa@janitri.com</t></is></c></row>"
+                        + "<row r=\"3\"><c r=\"A3\"/></row>"
+                        + "<row r=\"4\"><c r=\"A4\" t=\"inlineStr\"><is><t>TC101</t></is></c>"
+                        + "<c r=\"B4\" t=\"inlineStr\"><is><t>Login with invalid password</t></is></c></row>");
+
+        List<Map<String, String>> rows = new ArrayList<>();
+        try (XlsxRowReader reader = new XlsxRowReader(file)) {
+            Assert.assertEquals(reader.getHeaders(), List.of("Test Case ID", "Test Scenario", "", "Email"));
+            reader.forEachRemaining(rows::add);
+        }
+
+        Assert.assertEquals(rows.size(), 2);
+        Assert.assertEquals(rows.get(0).get("Test Case ID"), "TC100");
+        Assert.assertEquals(rows.get(0).get("Test Scenario"), "");
+        Assert.assertEquals(rows.get(0).get("Email"), "qa@janitri.com");
+        Assert.assertEquals(LoginCase.fromRow(rows.get(1)).getAction(), LoginCase.Action.INVALID_PASSWORD);
+        Assert.assertEquals(LoginCase.fromRow(rows.get(1)).emailOr("default@janitri.com"), "default@janitri.com");
+    }
+
+    private static void writeWorkbook(Path file, String sharedStrings, String rows) throws IOException {
+        String ns = "xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"";
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            put(zip, "xl/sharedStrings.xml", "<sst " + ns + ">" + sharedStrings + "</sst>");
+            put(zip, "xl/worksheets/sheet1.xml", "<worksheet " + ns + "><sheetData>" + rows + "</sheetData></worksheet>");
+        }
+    }
+
+    private static void put(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}